@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Base class of all validators for a single property of a bean. Instances are added to a {@link BeanValidator} via
+ * {@link BeanValidator#addPropertyValidator(AbstractPropertyValidator)}.
+ *
+ * @param <P> the type of the bean that contains the property
+ */
+public abstract class AbstractPropertyValidator<P> {
+
+    // evaluated against the bean, the property is only validated if it is satisfied
+    private Predicate<P> condition;
+    private Set<String> groups = Collections.emptySet();
+    // the validators this validator was added to, they are notified about its modifications
+    private Set<BeanValidator<?>> parents = Collections.emptySet();
+
+    AbstractPropertyValidator() {
+        // only validators of this package can be compiled
+    }
+
+    /**
+     * Evaluates all given validation rules against the &lt;P&gt; bean.
+     *
+     * @param toValidate the &lt;P&gt; bean to validate
+     * @return ValidationResult as container for validation errors.
+     */
+    public abstract ValidationResult validate(P toValidate);
+
+    /**
+     * Evaluates the validation rules against the &lt;P&gt; bean and stops at the first violation.
+     *
+     * @param toValidate the &lt;P&gt; bean to validate
+     * @return The first {@link ValidationError} or <code>null</code> if all validation rules are satisfied.
+     */
+    public abstract ValidationError validateFirst(P toValidate);
+
+    /**
+     * Evaluates all validation rules against the &lt;P&gt; bean and stores the value of the property in the value vector of the
+     * cross-property rules, if this validator fetches it. Validators that don't fetch the value leave it to the rules.
+     */
+    ValidationResult validate(P toValidate, @SuppressWarnings("unused") Object[] ruleValues,
+        @SuppressWarnings("unused") int valueIndex) {
+        return this.validate(toValidate);
+    }
+
+    /**
+     * Evaluates the validation rules until the first violation and stores the value of the property in the value vector of the
+     * cross-property rules, see {@link #validate(Object, Object[], int)}.
+     */
+    ValidationError validateFirst(P toValidate, @SuppressWarnings("unused") Object[] ruleValues,
+        @SuppressWarnings("unused") int valueIndex) {
+        return this.validateFirst(toValidate);
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;P&gt; bean and stops at the first violation.
+     *
+     * @param toValidate the &lt;P&gt; bean to validate
+     * @return True if all validation rules are satisfied, false otherwise.
+     */
+    public boolean isValid(P toValidate) {
+        return this.validateFirst(toValidate) == null;
+    }
+
+    /**
+     * Evaluates all given validation rules against the &lt;P&gt; bean with the given {@link Executor}. Validators with
+     * asynchronous rules start them in the calling thread and register their {@link BulkLookup}s in <code>pendingLookups</code>,
+     * which have to be flushed by the caller.
+     */
+    CompletableFuture<ValidationResult> validateAsync(P toValidate, Executor executor, Set<BulkLookup<?>> pendingLookups) {
+        return CompletableFuture.supplyAsync(() -> this.validate(toValidate), executor);
+    }
+
+    /**
+     * Validates the given property, which is either the property of this validator or a nested property of it.
+     *
+     * @return The ValidationResult or <code>null</code> if the property is not validated by this validator.
+     */
+    ValidationResult validateProperty(P toValidate, String property) {
+        if (property.equals(this.getPropertyName())) {
+            return this.validate(toValidate);
+        }
+        return null;
+    }
+
+    /**
+     * @param group the name of the validation group or <code>null</code> for all groups
+     * @return True if this validator is evaluated for the given validation group, false otherwise.
+     */
+    boolean isInGroup(String group) {
+        return group == null || this.groups.isEmpty() || this.groups.contains(group);
+    }
+
+    void setGroups(String... validationGroups) {
+        this.groups = new HashSet<>(Arrays.asList(validationGroups));
+        this.modified();
+    }
+
+    void addParent(BeanValidator<?> parent) {
+        if (this.parents.isEmpty()) {
+            this.parents = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        this.parents.add(parent);
+    }
+
+    /**
+     * Called after every modification of this validator, the {@link BeanValidator}s containing it discard their cached plans.
+     */
+    void modified() {
+        for (BeanValidator<?> parent : this.parents) {
+            parent.modified();
+        }
+    }
+
+    /**
+     * Adds a condition, multiple conditions must all be satisfied.
+     */
+    void addCondition(Predicate<P> additionalCondition) {
+        if (this.condition == null) {
+            this.condition = additionalCondition;
+        } else {
+            this.condition = this.condition.and(additionalCondition);
+        }
+        this.modified();
+    }
+
+    /**
+     * @return The condition of this validator or <code>null</code> if the property is always validated.
+     */
+    Predicate<P> getCondition() {
+        return this.condition;
+    }
+
+    boolean isApplicable(P toValidate) {
+        return this.condition == null || this.condition.test(toValidate);
+    }
+
+    /**
+     * @return True if the value of the property differs between both beans, false otherwise.
+     */
+    abstract boolean hasChanged(P previousBean, P toValidate);
+
+    /**
+     * @return The name of the property, as used in validation errors.
+     */
+    abstract String getPropertyName();
+
+    /**
+     * Freezes the current validation rules into an immutable {@link PropertyPlan} and resolves the name of the property.
+     *
+     * @param group the validation group of nested validators or <code>null</code> for all groups
+     */
+    abstract PropertyPlan<P> compile(String group);
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link ValidationPlan} for fail-fast validation that adapts the order of its properties at runtime.
+ * <br/>
+ * A random sample of the calls of {@link #validateFirst(Object)} evaluates all properties and records their failures and their
+ * evaluation time. After every {@value #SAMPLES_PER_REORDER} samples the properties are reordered, so properties that fail often
+ * and are cheap to evaluate are checked first. The new order is published atomically, concurrent validations either use the old
+ * or the new order.
+ * <br/>
+ * Once the statistics cover {@value #SAMPLES_PER_DECAY} samples, they are halved at each reordering. So they follow the recent
+ * samples: when the validated beans start to fail other properties, the order adapts within a few hundred samples rather than
+ * after as many samples as were taken before, while a single slow evaluation does not outweigh the failures.
+ * <br/>
+ * Since the order changes, {@link #validateFirst(Object)} may report a different violation than {@link ValidationPlan} for a bean
+ * that violates more than one rule. {@link #validate(Object)} always evaluates all properties.
+ *
+ * @param <T> the type of the bean to validate
+ * @see ValidationPlan#adaptive()
+ */
+public final class AdaptiveValidationPlan<T> {
+
+    private static final int SAMPLE_INTERVAL = 64;
+    private static final int SAMPLES_PER_REORDER = 16;
+    private static final int SAMPLES_PER_DECAY = 256;
+
+    private final ValidationPlan<T> validationPlan;
+    private final PropertyPlan<T>[] propertyPlans;
+
+    private final AtomicLong samples = new AtomicLong();
+    // the decayed number of samples, the failures and evaluation times are decayed along with it
+    private final AtomicLong sampleWeight = new AtomicLong();
+    private final AtomicLongArray failures;
+    private final AtomicLongArray evaluationNanos;
+
+    private volatile int[] order;
+
+    AdaptiveValidationPlan(ValidationPlan<T> validationPlan, PropertyPlan<T>[] propertyPlans) {
+        this.validationPlan = validationPlan;
+        this.propertyPlans = propertyPlans;
+
+        this.failures = new AtomicLongArray(propertyPlans.length);
+        this.evaluationNanos = new AtomicLongArray(propertyPlans.length);
+
+        this.order = new int[propertyPlans.length];
+        for (int i = 0; i < this.order.length; i++) {
+            this.order[i] = i;
+        }
+    }
+
+    /**
+     * Evaluates all compiled validation rules against the &lt;T&gt; bean.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return ValidationResult as container for validation errors.
+     */
+    public ValidationResult validate(T toValidate) {
+        return this.validationPlan.validate(toValidate);
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;T&gt; bean and stops at the first violation.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return True if all validation rules are satisfied, false otherwise.
+     */
+    public boolean isValid(T toValidate) {
+        return this.validateFirst(toValidate) == null;
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;T&gt; bean in the currently preferred order and stops at the first violation.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return The first {@link ValidationError} or <code>null</code> if all validation rules are satisfied.
+     */
+    public ValidationError validateFirst(T toValidate) {
+        // the pass belongs to the underlying plan, so its maximum depth and cycle detection apply to the nested beans
+        return ValidationPass.validate(
+            this.validationPlan,
+            ValidationPass.Mode.VALIDATE_FIRST,
+            this.validationPlan.getMaxDepth(),
+            toValidate,
+            this::validateFirstInOrder,
+            null);
+    }
+
+    private ValidationError validateFirstInOrder(T toValidate) {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0) {
+            return this.validateSample(toValidate);
+        }
+
+        for (int index : this.order) {
+            ValidationError validationError = this.propertyPlans[index].validateFirst(toValidate);
+            if (validationError != null) {
+                return validationError;
+            }
+        }
+        return null;
+    }
+
+    private ValidationError validateSample(T toValidate) {
+        ValidationError result = null;
+
+        for (int index : this.order) {
+            long start = System.nanoTime();
+            ValidationError validationError = this.propertyPlans[index].validateFirst(toValidate);
+            this.evaluationNanos.addAndGet(index, System.nanoTime() - start);
+
+            if (validationError != null) {
+                this.failures.incrementAndGet(index);
+                if (result == null) {
+                    result = validationError;
+                }
+            }
+        }
+
+        this.sampleWeight.incrementAndGet();
+        if (this.samples.incrementAndGet() % SAMPLES_PER_REORDER == 0) {
+            this.reorder();
+        }
+
+        return result;
+    }
+
+    private void reorder() {
+        // every sample evaluates all properties, so the number of samples is the number of evaluations of each property
+        double sampleCount = this.sampleWeight.get();
+
+        double[] scores = new double[this.propertyPlans.length];
+        for (int i = 0; i < scores.length; i++) {
+            double failureRate = (this.failures.get(i) + 1) / (sampleCount + 2);
+            double averageNanos = this.evaluationNanos.get(i) / sampleCount;
+            scores[i] = failureRate / (averageNanos + 1);
+        }
+
+        int[] newOrder = this.order.clone();
+        for (int i = 1; i < newOrder.length; i++) {
+            int index = newOrder[i];
+            int j = i - 1;
+            while (j >= 0 && scores[newOrder[j]] < scores[index]) {
+                newOrder[j + 1] = newOrder[j];
+                j--;
+            }
+            newOrder[j + 1] = index;
+        }
+
+        this.order = newOrder;
+
+        if (sampleCount >= SAMPLES_PER_DECAY) {
+            this.decay();
+        }
+    }
+
+    private void decay() {
+        this.sampleWeight.updateAndGet(value -> value / 2);
+        for (int i = 0; i < this.propertyPlans.length; i++) {
+            this.failures.updateAndGet(i, value -> value / 2);
+            this.evaluationNanos.updateAndGet(i, value -> value / 2);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A validation whose result is computed asynchronously, e.g. a lookup against a store. A <code>null</code> value never validates.
+ */
+final class AsyncRule {
+
+    private final String validationKey;
+    private final Function<Object, CompletableFuture<Boolean>> predicate;
+
+    AsyncRule(String validationKey, Function<Object, CompletableFuture<Boolean>> predicate) {
+        this.validationKey = validationKey;
+        this.predicate = predicate;
+    }
+
+    String getValidationKey() {
+        return this.validationKey;
+    }
+
+    /**
+     * Starts the asynchronous evaluation. If the predicate is a {@link BulkLookup}, it is added to the pending lookups and the
+     * returned future is only completed after the caller flushed it.
+     */
+    CompletableFuture<Boolean> test(Object value, Set<BulkLookup<?>> pendingLookups) {
+        if (value == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        if (this.predicate instanceof BulkLookup) {
+            pendingLookups.add((BulkLookup<?>) this.predicate);
+        }
+        return this.predicate.apply(value);
+    }
+
+    /**
+     * Evaluates the predicate and waits for its result.
+     */
+    boolean testAndWait(Object value) {
+        if (value == null) {
+            return false;
+        }
+
+        CompletableFuture<Boolean> result = this.predicate.apply(value);
+        if (this.predicate instanceof BulkLookup) {
+            ((BulkLookup<?>) this.predicate).flush();
+        }
+        return result.join();
+    }
+}
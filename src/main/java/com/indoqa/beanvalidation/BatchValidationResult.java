@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.Arrays;
+
+/**
+ * Compact result of validating a batch of beans. Only the invalid beans are stored, as sorted bean positions and their
+ * {@link ValidationResult}s; valid beans don't occupy any memory.
+ *
+ * @see BeanValidator#validateBatch(java.util.List)
+ * @see ValidationPlan#validateBatch(java.util.List)
+ */
+public final class BatchValidationResult {
+
+    private final int size;
+    private final int[] invalidIndexes;
+    private final ValidationResult[] invalidResults;
+
+    BatchValidationResult(int size, int[] invalidIndexes, ValidationResult[] invalidResults) {
+        this.size = size;
+        this.invalidIndexes = invalidIndexes;
+        this.invalidResults = invalidResults;
+    }
+
+    static BatchValidationResult of(ValidationResult[] results) {
+        int invalidCount = 0;
+        for (ValidationResult result : results) {
+            if (result.hasErrors()) {
+                invalidCount++;
+            }
+        }
+
+        int[] invalidIndexes = new int[invalidCount];
+        ValidationResult[] invalidResults = new ValidationResult[invalidCount];
+        int next = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i].hasErrors()) {
+                invalidIndexes[next] = i;
+                invalidResults[next] = results[i];
+                next++;
+            }
+        }
+        return new BatchValidationResult(results.length, invalidIndexes, invalidResults);
+    }
+
+    /**
+     * @return The number of validated beans.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return True if all beans of the batch are valid, false otherwise.
+     */
+    public boolean isValid() {
+        return this.invalidIndexes.length == 0;
+    }
+
+    /**
+     * @param index the position of the bean in the batch
+     * @return True if the bean at the given position is valid, false otherwise.
+     */
+    public boolean isValid(int index) {
+        return this.indexOf(index) < 0;
+    }
+
+    /**
+     * @return The number of invalid beans.
+     */
+    public int getInvalidCount() {
+        return this.invalidIndexes.length;
+    }
+
+    /**
+     * @return The positions of all invalid beans in ascending order.
+     */
+    public int[] getInvalidIndexes() {
+        return this.invalidIndexes.clone();
+    }
+
+    /**
+     * @param index the position of the bean in the batch
+     * @return The {@link ValidationResult} of the bean at the given position, {@link ValidationResult#VALID} if it is valid.
+     */
+    public ValidationResult getResult(int index) {
+        int position = this.indexOf(index);
+        if (position < 0) {
+            return ValidationResult.VALID;
+        }
+        return this.invalidResults[position];
+    }
+
+    /**
+     * Creates a copy of this batch result with {@link ValidationResult#compact() compact} results. All results share one table of
+     * interned properties and validation keys, so each distinct property of the batch is stored only once. The table is released
+     * together with the batch result.
+     *
+     * @return the compact copy of this batch result
+     */
+    public BatchValidationResult compact() {
+        SymbolTable symbolTable = new SymbolTable();
+
+        ValidationResult[] compactResults = new ValidationResult[this.invalidResults.length];
+        for (int i = 0; i < compactResults.length; i++) {
+            compactResults[i] = this.invalidResults[i].compact(symbolTable);
+        }
+        return new BatchValidationResult(this.size, this.invalidIndexes, compactResults);
+    }
+
+    private int indexOf(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        return Arrays.binarySearch(this.invalidIndexes, index);
+    }
+}
@@ -17,15 +17,33 @@
 
 package com.indoqa.beanvalidation;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import com.indoqa.beanvalidation.property.PropertyFunction;
 
 public final class BeanValidator<T> {
 
-    private List<PropertyValidator> propertyValidators = new ArrayList<>();
+    // the validators that are being compiled by the current thread, to resolve recursive references
+    private static final ThreadLocal<Map<BeanValidator<?>, PlanReference<?>>> COMPILING =
+        ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private List<AbstractPropertyValidator<T>> propertyValidators = new ArrayList<>();
+    private CrossPropertyRules<T> crossPropertyRules = CrossPropertyRules.empty();
+    private Map<String, ValidationPlan<T>> groupPlans = new ConcurrentHashMap<>();
+    // per property validator, the index of its value in the value vector of the cross-property rules, resolved on demand
+    private int[] ruleValueIndexes;
+    private int maxDepth = Integer.MAX_VALUE;
     private List<BiFunction<T, PropertyValidator, ValidationResult>> nestedValidators = new ArrayList<>();
     private String propertySeparator = ".";
+    // the property validators this validator is nested in, they are notified about its modifications
+    private Set<AbstractPropertyValidator<?>> parents = Collections.emptySet();
+    // set while the modification is passed to the parents, which may contain this validator again
+    private boolean notifyingParents;
 
     private BeanValidator() {
         super();
@@ -35,19 +53,572 @@ public final class BeanValidator<T> {
         return new BeanValidator();
     }
 
-    public BeanValidator<T> addPropertyValidator(PropertyValidator<T, ?> propertyValidator) {
+    private static ValidationResult merge(ValidationResult result, ValidationResult validationResult) {
+        if (validationResult.isValid()) {
+            return result;
+        }
+
+        ValidationResult mergedResult = result;
+        if (mergedResult == null) {
+            mergedResult = new ValidationResult();
+        }
+        mergedResult.addErrors(validationResult);
+        return mergedResult;
+    }
+
+    public BeanValidator<T> addPropertyValidator(AbstractPropertyValidator<T> propertyValidator) {
         this.propertyValidators.add(propertyValidator);
+        propertyValidator.addParent(this);
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Adds a rule that reads several properties of the bean, e.g. "endDate after startDate" or "either email or phone". The rule
+     * gets the values of the <code>readProperties</code> in their declared order. The rules are evaluated after all property
+     * validators. A property that is validated by a {@link PropertyValidator} of this validator as well is not fetched again,
+     * the other properties are fetched once per validation and shared by all rules that read them.
+     *
+     * @param property       the property to report the validation error on
+     * @param validationKey  for the validation error.
+     * @param rule           to test against
+     * @param readProperties the method references of the properties the rule reads
+     */
+    @SafeVarargs
+    public final BeanValidator<T> addRule(String property, String validationKey, Predicate<PropertyValues> rule,
+        PropertyFunction<T, ?>... readProperties) {
+        this.crossPropertyRules = this.crossPropertyRules.add(property, validationKey, rule, readProperties);
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Adds a rule that reads several properties of the bean with the explicit names of the properties, which skips the reflective
+     * name extraction of {@link #addRule(String, String, Predicate, PropertyFunction...)}.
+     *
+     * @param property           the property to report the validation error on
+     * @param validationKey      for the validation error.
+     * @param rule               to test against
+     * @param readPropertyNames  the names of the properties the rule reads, in the order of <code>readProperties</code>
+     * @param readProperties     the method references of the properties the rule reads
+     */
+    @SafeVarargs
+    public final BeanValidator<T> addRule(String property, String validationKey, Predicate<PropertyValues> rule,
+        String[] readPropertyNames, PropertyFunction<T, ?>... readProperties) {
+        this.crossPropertyRules = this.crossPropertyRules.add(property, validationKey, rule, readPropertyNames, readProperties);
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Limits the depth of nested beans that are validated, e.g. <code>1</code> to validate the bean and the beans referenced by
+     * its properties, but not their nested beans. The limit of the outermost {@link BeanValidator} applies to the whole
+     * validation.
+     * <br/>
+     * Independent of this limit, nested validation is safe for cyclic graphs: a bean that is already being validated by the same
+     * validator is skipped, and a bean that is referenced several times is validated only once per validator and validation.
+     *
+     * @param depth the maximum depth of nested beans, <code>0</code> to validate no nested beans at all
+     */
+    public BeanValidator<T> maxDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("The maximum depth must not be negative: " + depth);
+        }
+
+        this.maxDepth = depth;
+        this.modified();
         return this;
     }
 
     public ValidationResult validateAll(T toValidate) {
-        ValidationResult result = new ValidationResult();
-        this.propertyValidators.forEach(propertyValidator -> {
-            ValidationResult validationResult = propertyValidator.validate(toValidate);
-            if (validationResult.hasErrors()) {
-                result.addErrors(validationResult);
+        return ValidationPass.validate(
+            this,
+            ValidationPass.Mode.VALIDATE_ALL,
+            this.maxDepth,
+            toValidate,
+            this::validateAllProperties,
+            ValidationResult.VALID);
+    }
+
+    private ValidationResult validateAllProperties(T toValidate) {
+        if (this.crossPropertyRules.isEmpty()) {
+            ValidationResult result = null;
+            for (AbstractPropertyValidator<T> propertyValidator : this.propertyValidators) {
+                result = merge(result, propertyValidator.validate(toValidate));
             }
+            if (result == null) {
+                return ValidationResult.VALID;
+            }
+            return result;
+        }
+
+        // the values of the properties validated by the property validators are passed to the rules reading them
+        int[] valueIndexes = this.getRuleValueIndexes();
+        Object[] ruleValues = this.crossPropertyRules.newValues();
+
+        ValidationResult result = null;
+        for (int i = 0; i < valueIndexes.length; i++) {
+            AbstractPropertyValidator<T> propertyValidator = this.propertyValidators.get(i);
+            if (valueIndexes[i] == -1) {
+                result = merge(result, propertyValidator.validate(toValidate));
+            } else {
+                result = merge(result, propertyValidator.validate(toValidate, ruleValues, valueIndexes[i]));
+            }
+        }
+        result = merge(result, this.crossPropertyRules.validate(toValidate, ruleValues, null));
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the validation rules of the given validation group against the &lt;T&gt; bean. Property validators of other groups
+     * are never evaluated. The plan of each group is compiled on its first use and reused until this validator or one of its nested
+     * validators is modified, see {@link #compile(String)}.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @param group      the name of the validation group, e.g. <code>"create"</code>
+     * @return ValidationResult as container for validation errors.
+     * @see PropertyValidator#groups(String...)
+     */
+    public ValidationResult validateAll(T toValidate, String group) {
+        ValidationPlan<T> groupPlan = this.groupPlans.get(group);
+        if (groupPlan == null) {
+            groupPlan = this.compile(group);
+            this.groupPlans.put(group, groupPlan);
+        }
+        return groupPlan.validate(toValidate);
+    }
+
+    /**
+     * Evaluates all validation rules against the &lt;T&gt; bean without blocking the calling thread. Synchronous rules are
+     * evaluated with the given {@link Executor}, asynchronous rules (see {@link PropertyValidator#isTrueAsync}) are started in the
+     * calling thread and combined with them.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @param executor   to evaluate the synchronous validation rules
+     * @return A future of the ValidationResult.
+     */
+    public CompletableFuture<ValidationResult> validateAllAsync(T toValidate, Executor executor) {
+        Set<BulkLookup<?>> pendingLookups = Collections.newSetFromMap(new IdentityHashMap<>());
+        CompletableFuture<ValidationResult> result = this.validateAllAsync(toValidate, executor, pendingLookups);
+        pendingLookups.forEach(BulkLookup::flush);
+        return result;
+    }
+
+    /**
+     * Evaluates all validation rules against the &lt;T&gt; bean on virtual threads if the JVM supports them (Java 21+), otherwise
+     * on a shared, bounded pool of platform threads. Each property validator and each nested {@link BeanValidator} runs as a
+     * separate task, so blocking custom predicates (e.g. JDBC lookups) of one property don't delay the others.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return A future of the ValidationResult.
+     * @see ValidationExecutors#virtualThreads()
+     */
+    public CompletableFuture<ValidationResult> validateAllAsync(T toValidate) {
+        return this.validateAllAsync(toValidate, ValidationExecutors.virtualThreads());
+    }
+
+    /**
+     * Evaluates all validation rules against each bean of the batch without blocking the calling thread. The values of all
+     * {@link BulkLookup}s are collected for the whole batch, so each of them executes a single lookup.
+     *
+     * @param toValidate the &lt;T&gt; beans to validate
+     * @param executor   to evaluate the synchronous validation rules
+     * @return A future of the BatchValidationResult.
+     */
+    public CompletableFuture<BatchValidationResult> validateBatchAsync(List<? extends T> toValidate, Executor executor) {
+        Set<BulkLookup<?>> pendingLookups = Collections.newSetFromMap(new IdentityHashMap<>());
+        CompletableFuture<ValidationResult>[] results = new CompletableFuture[toValidate.size()];
+        int index = 0;
+        for (T bean : toValidate) {
+            results[index++] = this.validateAllAsync(bean, executor, pendingLookups);
+        }
+        pendingLookups.forEach(BulkLookup::flush);
+
+        return CompletableFuture.allOf(results).thenApply(ignored -> {
+            ValidationResult[] validationResults = new ValidationResult[results.length];
+            for (int i = 0; i < results.length; i++) {
+                validationResults[i] = results[i].join();
+            }
+            return BatchValidationResult.of(validationResults);
+        });
+    }
+
+    CompletableFuture<ValidationResult> validateAllAsync(T toValidate, Executor executor, Set<BulkLookup<?>> pendingLookups) {
+        return ValidationPass.validate(
+            this,
+            ValidationPass.Mode.VALIDATE_ASYNC,
+            this.maxDepth,
+            toValidate,
+            (bean) -> this.startValidateAllAsync(bean, executor, pendingLookups),
+            CompletableFuture.completedFuture(ValidationResult.VALID));
+    }
+
+    private CompletableFuture<ValidationResult> startValidateAllAsync(T toValidate, Executor executor,
+        Set<BulkLookup<?>> pendingLookups) {
+        CompletableFuture<ValidationResult>[] results = new CompletableFuture[this.propertyValidators.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = this.propertyValidators.get(i).validateAsync(toValidate, executor, pendingLookups);
+        }
+
+        return CompletableFuture.allOf(results).thenApply(ignored -> {
+            ValidationResult result = null;
+            for (CompletableFuture<ValidationResult> validationResult : results) {
+                result = merge(result, validationResult.join());
+            }
+            result = merge(result, this.crossPropertyRules.validate(toValidate));
+
+            if (result == null) {
+                return ValidationResult.VALID;
+            }
+            return result;
         });
+    }
+
+    /**
+     * Evaluates only the validation rules of a single property, e.g. <code>"address"</code> or the nested property
+     * <code>"address.street"</code>. Nested properties are resolved through the {@link BeanValidator}s added with
+     * {@link PropertyValidator#withBeanValidator(BeanValidator)}. For paths of elements, e.g. <code>"items[0].name"</code>, the
+     * whole property is validated and only the errors of the path are returned.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @param property   the name of the property as used in validation errors
+     * @return ValidationResult as container for validation errors.
+     */
+    public ValidationResult validateProperty(T toValidate, String property) {
+        ValidationResult result = null;
+        for (AbstractPropertyValidator<T> propertyValidator : this.propertyValidators) {
+            ValidationResult validationResult = propertyValidator.validateProperty(toValidate, property);
+            if (validationResult != null) {
+                result = merge(result, validationResult);
+            }
+        }
+        result = merge(result, this.crossPropertyRules.validate(toValidate, Collections.singleton(property)));
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    /**
+     * Re-validates only the changed properties of the &lt;T&gt; bean and patches the result of its previous validation: the
+     * errors of the changed properties (including their nested properties) are replaced by the errors of the new validation.
+     * Validators with a condition (see {@link PropertyValidator#when(Predicate)}) are validated again whenever any property
+     * changed, because their condition may read it.
+     *
+     * @param toValidate        the &lt;T&gt; bean to validate
+     * @param changedProperties the names of the changed properties, nested properties like <code>"address.street"</code> are
+     *                          supported
+     * @param previous          the result of the previous validation, it is modified unless it is immutable
+     * @return The patched ValidationResult, which is <code>previous</code> if it is modifiable.
+     */
+    public ValidationResult validateChanged(T toValidate, Set<String> changedProperties, ValidationResult previous) {
+        ValidationResult result = previous;
+        if (!previous.isModifiable()) {
+            result = new ValidationResult();
+            result.addErrors(previous);
+        }
+
+        // cross-property rules report their errors on another property than the one they read
+        Set<String> affectedProperties = new HashSet<>(changedProperties);
+        affectedProperties.addAll(this.crossPropertyRules.getDependentProperties(changedProperties));
+        if (!changedProperties.isEmpty()) {
+            affectedProperties.addAll(this.getConditionalProperties());
+        }
+
+        for (String changedProperty : affectedProperties) {
+            if (isCoveredByOtherProperty(changedProperty, affectedProperties)) {
+                continue;
+            }
+
+            result.removeErrors(changedProperty);
+            result.addErrors(this.validateProperty(toValidate, changedProperty));
+        }
+
+        if (result != previous && result.isValid()) {
+            return ValidationResult.VALID;
+        }
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Re-validates only the properties whose values differ between the previous and the current &lt;T&gt; bean, see
+     * {@link #validateChanged(Object, Set, ValidationResult)}. Property values are compared with {@link Object#equals(Object)},
+     * so nested beans that were modified in place are only detected if they implement it.
+     *
+     * @param previousBean the previously validated &lt;T&gt; bean
+     * @param toValidate   the &lt;T&gt; bean to validate
+     * @param previous     the result of the validation of <code>previousBean</code>, it is modified unless it is immutable
+     * @return The patched ValidationResult, which is <code>previous</code> if it is modifiable.
+     */
+    public ValidationResult validateDiff(T previousBean, T toValidate, ValidationResult previous) {
+        Set<String> changedProperties = new HashSet<>();
+        for (AbstractPropertyValidator<T> propertyValidator : this.propertyValidators) {
+            if (propertyValidator.hasChanged(previousBean, toValidate)) {
+                changedProperties.add(propertyValidator.getPropertyName());
+            }
+        }
+        changedProperties.addAll(this.crossPropertyRules.getChangedProperties(previousBean, toValidate));
+        return this.validateChanged(toValidate, changedProperties, previous);
+    }
+
+    private Set<String> getConditionalProperties() {
+        Set<String> conditionalProperties = new HashSet<>();
+        for (AbstractPropertyValidator<T> propertyValidator : this.propertyValidators) {
+            if (propertyValidator.getCondition() != null) {
+                conditionalProperties.add(propertyValidator.getPropertyName());
+            }
+        }
+        return conditionalProperties;
+    }
+
+    private static boolean isCoveredByOtherProperty(String property, Set<String> properties) {
+        for (String otherProperty : properties) {
+            if (!otherProperty.equals(property) && ValidationResult.isSameOrNestedProperty(property, otherProperty)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;T&gt; bean and stops at the first violation. No {@link ValidationResult} is
+     * created.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return True if all validation rules are satisfied, false otherwise.
+     */
+    public boolean isValid(T toValidate) {
+        return this.validateFirst(toValidate) == null;
+    }
+
+    /**
+     * @return A {@link Predicate} that tests beans with {@link #isValid(Object)}.
+     */
+    public Predicate<T> asPredicate() {
+        return this::isValid;
+    }
+
+    /**
+     * @return A {@link PropertyPlan} that validates nested beans with the current property validators of this validator.
+     */
+    PropertyPlan<T> asPropertyPlan() {
+        return new PropertyPlan<T>() {
+
+            @Override
+            public ValidationResult validate(T toValidate) {
+                return BeanValidator.this.validateAll(toValidate);
+            }
+
+            @Override
+            public ValidationError validateFirst(T toValidate) {
+                return BeanValidator.this.validateFirst(toValidate);
+            }
+        };
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;T&gt; bean and stops at the first violation.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return The first {@link ValidationError} or <code>null</code> if all validation rules are satisfied.
+     */
+    public ValidationError validateFirst(T toValidate) {
+        return ValidationPass.validate(
+            this,
+            ValidationPass.Mode.VALIDATE_FIRST,
+            this.maxDepth,
+            toValidate,
+            this::validateFirstProperty,
+            null);
+    }
+
+    private ValidationError validateFirstProperty(T toValidate) {
+        if (this.crossPropertyRules.isEmpty()) {
+            for (AbstractPropertyValidator<T> propertyValidator : this.propertyValidators) {
+                ValidationError validationError = propertyValidator.validateFirst(toValidate);
+                if (validationError != null) {
+                    return validationError;
+                }
+            }
+            return null;
+        }
+
+        int[] valueIndexes = this.getRuleValueIndexes();
+        Object[] ruleValues = this.crossPropertyRules.newValues();
+        for (int i = 0; i < valueIndexes.length; i++) {
+            AbstractPropertyValidator<T> propertyValidator = this.propertyValidators.get(i);
+            ValidationError validationError;
+            if (valueIndexes[i] == -1) {
+                validationError = propertyValidator.validateFirst(toValidate);
+            } else {
+                validationError = propertyValidator.validateFirst(toValidate, ruleValues, valueIndexes[i]);
+            }
+            if (validationError != null) {
+                return validationError;
+            }
+        }
+        return this.crossPropertyRules.validateFirst(toValidate, ruleValues);
+    }
+
+    private int[] getRuleValueIndexes() {
+        int[] valueIndexes = this.ruleValueIndexes;
+        if (valueIndexes == null) {
+            valueIndexes = new int[this.propertyValidators.size()];
+            for (int i = 0; i < valueIndexes.length; i++) {
+                valueIndexes[i] = this.crossPropertyRules.indexOf(this.propertyValidators.get(i).getPropertyName());
+            }
+            this.ruleValueIndexes = valueIndexes;
+        }
+        return valueIndexes;
+    }
+
+    /**
+     * Validates all beans of the batch. The property validators are compiled once per batch, so property names and rules are
+     * resolved only once instead of once per bean.
+     *
+     * @param toValidate the &lt;T&gt; beans to validate
+     * @return BatchValidationResult with the results of the invalid beans, indexed by their position in the batch.
+     * @see ValidationPlan#validateBatch(List)
+     */
+    public BatchValidationResult validateBatch(List<? extends T> toValidate) {
+        return this.compile().validateBatch(toValidate);
+    }
+
+    /**
+     * Validates all beans of the batch, optionally in parallel. The property validators are compiled once per batch.
+     *
+     * @param toValidate the &lt;T&gt; beans to validate
+     * @param parallel   true to validate the beans in parallel
+     * @return BatchValidationResult with the results of the invalid beans, indexed by their position in the batch.
+     * @see ValidationPlan#validateBatch(List, boolean)
+     */
+    public BatchValidationResult validateBatch(List<? extends T> toValidate, boolean parallel) {
+        return this.compile().validateBatch(toValidate, parallel);
+    }
+
+    /**
+     * Compiles the current property validators into a {@link CachingValidator} that caches the results of up to
+     * <code>maximumSize</code> beans by {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return A new CachingValidator.
+     */
+    public CachingValidator<T> cached(int maximumSize) {
+        return new CachingValidator<>(this.compile(), maximumSize, false);
+    }
+
+    /**
+     * Compiles the current property validators into a {@link CachingValidator} that caches the results of up to
+     * <code>maximumSize</code> beans by their identity.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return A new CachingValidator.
+     */
+    public CachingValidator<T> cachedByIdentity(int maximumSize) {
+        return new CachingValidator<>(this.compile(), maximumSize, true);
+    }
+
+    /**
+     * Compiles the current property validators into an immutable {@link ValidationPlan}. Changes made to this
+     * {@link BeanValidator} afterwards are not reflected by the returned plan.
+     * <br/>
+     * Use the returned plan to share a validator between threads: the property names are resolved eagerly and the plan is safely
+     * published, whereas {@link BeanValidator} and {@link PropertyValidator} are not thread-safe while they are being modified.
+     *
+     * @return the compiled {@link ValidationPlan}
+     */
+    public ValidationPlan<T> compile() {
+        return this.compileGroup(null);
+    }
+
+    /**
+     * Compiles this validator for the use as nested validator. If this validator is already being compiled, because it validates
+     * its own nested beans, a reference to the plan under construction is returned.
+     *
+     * @param group the validation group or <code>null</code> for all groups
+     */
+    @SuppressWarnings("unchecked")
+    PropertyPlan<T> compileNested(String group) {
+        PlanReference<T> planReference = (PlanReference<T>) COMPILING.get().get(this);
+        if (planReference != null) {
+            return planReference;
+        }
+        return this.compileGroup(group);
+    }
+
+    /**
+     * Compiles the property validators of the given validation group (and those without any group) into an immutable
+     * {@link ValidationPlan}. The group applies to nested validators as well. Changes made to this {@link BeanValidator}
+     * afterwards are not reflected by the returned plan.
+     *
+     * @param group the name of the validation group
+     * @return the compiled {@link ValidationPlan}
+     * @see PropertyValidator#groups(String...)
+     */
+    public ValidationPlan<T> compile(String group) {
+        return this.compileGroup(group);
+    }
+
+    void addParent(AbstractPropertyValidator<?> parent) {
+        if (this.parents.isEmpty()) {
+            this.parents = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        this.parents.add(parent);
+    }
+
+    /**
+     * Discards the cached group plans of this validator and of all validators containing it.
+     */
+    void modified() {
+        if (this.notifyingParents) {
+            return;
+        }
+
+        this.groupPlans.clear();
+        this.ruleValueIndexes = null;
+        this.notifyingParents = true;
+        try {
+            for (AbstractPropertyValidator<?> parent : this.parents) {
+                parent.modified();
+            }
+        } finally {
+            this.notifyingParents = false;
+        }
+    }
+
+    private ValidationPlan<T> compileGroup(String group) {
+        Map<BeanValidator<?>, PlanReference<?>> compilingValidators = COMPILING.get();
+        PlanReference<T> planReference = new PlanReference<>();
+        compilingValidators.put(this, planReference);
+
+        try {
+            List<AbstractPropertyValidator<T>> groupValidators = new ArrayList<>();
+            for (AbstractPropertyValidator<T> propertyValidator : this.propertyValidators) {
+                if (propertyValidator.isInGroup(group)) {
+                    groupValidators.add(propertyValidator);
+                }
+            }
+
+            int size = groupValidators.size();
+            PropertyPlan[] propertyPlans = new PropertyPlan[this.crossPropertyRules.isEmpty() ? size : size + 1];
+            for (int i = 0; i < size; i++) {
+                propertyPlans[i] = groupValidators.get(i).compile(group);
+            }
+            if (!this.crossPropertyRules.isEmpty()) {
+                // the rules are immutable and evaluated like a property of their own
+                propertyPlans[size] = this.crossPropertyRules;
+            }
+
+            ValidationPlan<T> validationPlan = new ValidationPlan<>(propertyPlans, this.maxDepth);
+            planReference.setValidationPlan(validationPlan);
+            return validationPlan;
+        } finally {
+            compilingValidators.remove(this);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import com.indoqa.beanvalidation.property.BooleanPropertyFunction;
+import com.indoqa.beanvalidation.property.PropertyExtractor;
+
+/**
+ * A validator for a property of type <code>boolean</code>. The value is read via a {@link BooleanPropertyFunction}, so the
+ * property is never boxed.
+ *
+ * @param <P> the type of the property (method) - usually handled by the compiler for a given method reference.
+ */
+public final class BooleanPropertyValidator<P> extends AbstractPropertyValidator<P> {
+
+    private final BooleanPropertyFunction<P> function;
+    private String property;
+
+    private boolean[] expectedValues = new boolean[0];
+    private String[] validationKeys = new String[0];
+
+    private BooleanPropertyValidator(BooleanPropertyFunction<P> function, String property) {
+        super();
+
+        this.function = function;
+        this.property = property;
+    }
+
+    /**
+     * Create a validator for the given method reference (property of a bean).
+     *
+     * @param function the method reference to validate
+     * @return A BooleanPropertyValidator for a given method.
+     */
+    public static <P> BooleanPropertyValidator<P> forMethod(BooleanPropertyFunction<P> function) {
+        return forMethod(function, null);
+    }
+
+    /**
+     * Create a validator for the given method reference (property of a bean), locks the name of the property (for validation
+     * messages).
+     *
+     * @param function the method reference to validate
+     * @param property the name of the property (for validation messages)
+     * @return A BooleanPropertyValidator for a given method.
+     */
+    public static <P> BooleanPropertyValidator<P> forMethod(BooleanPropertyFunction<P> function, String property) {
+        return new BooleanPropertyValidator<>(function, property);
+    }
+
+    static ValidationResult validate(boolean value, String property, boolean[] expectedValues, String[] validationKeys) {
+        ValidationResult result = null;
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            if (value != expectedValues[i]) {
+                if (result == null) {
+                    result = new ValidationResult();
+                }
+                result.addError(property, validationKeys[i]);
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    static ValidationError validateFirst(boolean value, String property, boolean[] expectedValues, String[] validationKeys) {
+        for (int i = 0; i < expectedValues.length; i++) {
+            if (value != expectedValues[i]) {
+                return ValidationError.of(property, validationKeys[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Assigns a property name for validation messages.
+     */
+    public BooleanPropertyValidator<P> property(String property) {
+        this.property = property;
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Only validates the property if the condition is satisfied by the bean, e.g. to validate a property only for a certain type
+     * of bean. Multiple conditions must all be satisfied.
+     *
+     * @param condition evaluated against the bean
+     */
+    public BooleanPropertyValidator<P> when(Predicate<P> condition) {
+        this.addCondition(condition);
+        return this;
+    }
+
+    /**
+     * Assigns this validator to the given validation groups, see {@link PropertyValidator#groups(String...)}.
+     *
+     * @param validationGroups the names of the validation groups
+     */
+    public BooleanPropertyValidator<P> groups(String... validationGroups) {
+        this.setGroups(validationGroups);
+        return this;
+    }
+
+    /**
+     * Validates that the property is <b>true</b>.
+     */
+    public BooleanPropertyValidator<P> isTrue() {
+        this.addExpectedValue("is_true", true);
+        return this;
+    }
+
+    /**
+     * Validates that the property is <b>false</b>.
+     */
+    public BooleanPropertyValidator<P> isFalse() {
+        this.addExpectedValue("is_false", false);
+        return this;
+    }
+
+    @Override
+    public ValidationResult validate(P toValidate) {
+        if (!this.isApplicable(toValidate)) {
+            return ValidationResult.VALID;
+        }
+
+        return validate(
+            this.function.applyAsBoolean(toValidate),
+            this.getPropertyName(),
+            this.expectedValues,
+            this.validationKeys);
+    }
+
+    @Override
+    public ValidationError validateFirst(P toValidate) {
+        if (!this.isApplicable(toValidate)) {
+            return null;
+        }
+
+        return validateFirst(
+            this.function.applyAsBoolean(toValidate),
+            this.getPropertyName(),
+            this.expectedValues,
+            this.validationKeys);
+    }
+
+    @Override
+    PropertyPlan<P> compile(@SuppressWarnings("unused") String group) {
+        return new BooleanPropertyPlan<>(
+            this.function,
+            this.getCondition(),
+            this.getPropertyName(),
+            this.expectedValues.clone(),
+            this.validationKeys.clone());
+    }
+
+    private void addExpectedValue(String key, boolean expectedValue) {
+        int index = this.expectedValues.length;
+
+        this.expectedValues = Arrays.copyOf(this.expectedValues, index + 1);
+        this.expectedValues[index] = expectedValue;
+        this.validationKeys = Arrays.copyOf(this.validationKeys, index + 1);
+        this.validationKeys[index] = key;
+        this.modified();
+    }
+
+    @Override
+    boolean hasChanged(P previousBean, P toValidate) {
+        return this.function.applyAsBoolean(previousBean) != this.function.applyAsBoolean(toValidate);
+    }
+
+    @Override
+    String getPropertyName() {
+        if (this.property != null) {
+            return this.property;
+        }
+        return PropertyExtractor.getPropertyName(this.function);
+    }
+
+    private static final class BooleanPropertyPlan<P> implements PropertyPlan<P> {
+
+        private final BooleanPropertyFunction<P> function;
+        private final Predicate<P> condition;
+        private final String property;
+        private final boolean[] expectedValues;
+        private final String[] validationKeys;
+
+        BooleanPropertyPlan(BooleanPropertyFunction<P> function, Predicate<P> condition, String property,
+            boolean[] expectedValues, String[] validationKeys) {
+            this.function = function;
+            this.condition = condition;
+            this.property = property;
+            this.expectedValues = expectedValues;
+            this.validationKeys = validationKeys;
+        }
+
+        @Override
+        public ValidationResult validate(P toValidate) {
+            if (this.condition != null && !this.condition.test(toValidate)) {
+                return ValidationResult.VALID;
+            }
+
+            return BooleanPropertyValidator.validate(
+                this.function.applyAsBoolean(toValidate),
+                this.property,
+                this.expectedValues,
+                this.validationKeys);
+        }
+
+        @Override
+        public ValidationError validateFirst(P toValidate) {
+            if (this.condition != null && !this.condition.test(toValidate)) {
+                return null;
+            }
+
+            return BooleanPropertyValidator.validateFirst(
+                this.function.applyAsBoolean(toValidate),
+                this.property,
+                this.expectedValues,
+                this.validationKeys);
+        }
+    }
+}
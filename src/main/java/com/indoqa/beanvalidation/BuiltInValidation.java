@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The validations that are built into the {@link PropertyValidator}. The {@link ValidationRules} evaluate them through the static
+ * {@link #evaluate(BuiltInValidation, Object)} method, so only custom predicates are invoked through the {@link Predicate}
+ * interface.
+ */
+enum BuiltInValidation implements Predicate<Object> {
+
+    IS_NOT_NULL, IS_NULL, IS_EMPTY, IS_NOT_EMPTY, IS_TRUE, IS_FALSE;
+
+    static boolean evaluate(BuiltInValidation validation, Object value) {
+        switch (validation) {
+            case IS_NOT_NULL:
+                return value != null;
+            case IS_NULL:
+                return value == null;
+            case IS_EMPTY:
+                return value == null ? false : isEmpty(value, true);
+            case IS_NOT_EMPTY:
+                return value == null ? true : isEmpty(value, false);
+            case IS_TRUE:
+                return value == null ? false : isTrue(value, true);
+            case IS_FALSE:
+                return value == null ? true : isTrue(value, false);
+            default:
+                throw new IllegalArgumentException("Unsupported validation " + validation);
+        }
+    }
+
+    private static boolean isEmpty(Object value, boolean defaultValue) {
+        if (value instanceof String) {
+            return ((String) value).isEmpty();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).isEmpty();
+        }
+        if (value instanceof Object[]) {
+            return ((Object[]) value).length == 0;
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value) == 0;
+        }
+        return defaultValue;
+    }
+
+    private static boolean isTrue(Object value, boolean defaultValue) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean test(Object value) {
+        return evaluate(this, value);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * An asynchronous predicate that coalesces the values of many validations into a single bulk lookup, e.g. one query against a
+ * store for all beans of a batch.
+ * <br/>
+ * Each call of {@link #apply(Object)} only registers the value. The bulk lookup is executed by {@link #flush()}, which
+ * {@link BeanValidator#validateAllAsync(Object, java.util.concurrent.Executor)} and
+ * {@link BeanValidator#validateBatchAsync(List, java.util.concurrent.Executor)} call after all values of the bean or batch were
+ * registered. Equal values are looked up only once.
+ *
+ * @param <R> the type of the looked up values
+ * @see PropertyValidator#isTrueAsync(String, Function)
+ */
+public final class BulkLookup<R> implements Function<R, CompletableFuture<Boolean>> {
+
+    private final Function<Set<R>, CompletableFuture<Map<R, Boolean>>> lookup;
+
+    private Map<R, CompletableFuture<Boolean>> pendingValues = new HashMap<>();
+
+    private BulkLookup(Function<Set<R>, CompletableFuture<Map<R, Boolean>>> lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Creates a {@link BulkLookup} for the given lookup function. Values missing in the returned map don't validate.
+     *
+     * @param lookup the function to look up a set of values at once
+     * @return A new BulkLookup.
+     */
+    public static <R> BulkLookup<R> of(Function<Set<R>, CompletableFuture<Map<R, Boolean>>> lookup) {
+        return new BulkLookup<>(lookup);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> apply(R value) {
+        return this.pendingValues.computeIfAbsent(value, (key) -> new CompletableFuture<>());
+    }
+
+    /**
+     * Executes one bulk lookup for all pending values.
+     */
+    public void flush() {
+        Map<R, CompletableFuture<Boolean>> values;
+        synchronized (this) {
+            if (this.pendingValues.isEmpty()) {
+                return;
+            }
+            values = this.pendingValues;
+            this.pendingValues = new HashMap<>();
+        }
+
+        CompletableFuture<Map<R, Boolean>> results;
+        try {
+            results = this.lookup.apply(Collections.unmodifiableSet(values.keySet()));
+        } catch (RuntimeException e) {
+            values.values().forEach(result -> result.completeExceptionally(e));
+            return;
+        }
+
+        results.whenComplete((lookupResults, throwable) -> values.forEach((value, result) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(Boolean.TRUE.equals(lookupResults.get(value)));
+            }
+        }));
+    }
+}
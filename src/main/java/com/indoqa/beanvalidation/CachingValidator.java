@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ValidationPlan} with a bounded cache of validation results, for immutable beans that are validated again and again
+ * (e.g. reference data or repeated payloads). Cached beans skip the evaluation of the validation rules entirely.
+ * <br/>
+ * Beans are cached by {@link Object#equals(Object)} / {@link Object#hashCode()} or by identity. If the cache is full, the least
+ * recently used result is evicted. All returned results are immutable. A {@link CachingValidator} is thread-safe.
+ * <br/>
+ * Only cache beans that don't change after their validation, otherwise stale results are returned.
+ *
+ * @param <T> the type of the bean to validate
+ * @see BeanValidator#cached(int)
+ * @see BeanValidator#cachedByIdentity(int)
+ */
+public final class CachingValidator<T> {
+
+    private final ValidationPlan<T> validationPlan;
+    private final boolean identity;
+    private final Map<Object, ValidationResult> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    CachingValidator(ValidationPlan<T> validationPlan, int maximumSize, boolean identity) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+        }
+
+        this.validationPlan = validationPlan;
+        this.identity = identity;
+        this.cache = new LinkedHashMap<Object, ValidationResult>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, ValidationResult> eldest) {
+                return this.size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the &lt;T&gt; bean or evaluates all validation rules against it and caches the result.
+     * <code>null</code> beans are not cached.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return Immutable ValidationResult as container for validation errors.
+     */
+    public ValidationResult validateAll(T toValidate) {
+        if (toValidate == null) {
+            return this.validationPlan.validate(null).toImmutable();
+        }
+
+        Object key = this.getKey(toValidate);
+        ValidationResult result;
+        synchronized (this.cache) {
+            result = this.cache.get(key);
+        }
+        if (result != null) {
+            this.hitCount.increment();
+            return result;
+        }
+
+        // validate outside of the lock, concurrent misses of the same bean compute equal results
+        this.missCount.increment();
+        result = this.validationPlan.validate(toValidate).toImmutable();
+        synchronized (this.cache) {
+            this.cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all cached results. The hit and miss counters are not reset.
+     */
+    public void invalidateAll() {
+        synchronized (this.cache) {
+            this.cache.clear();
+        }
+    }
+
+    /**
+     * @return The number of cached results.
+     */
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    /**
+     * @return The number of validations answered from the cache.
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * @return The number of validations that evaluated the validation rules.
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    private Object getKey(T toValidate) {
+        if (this.identity) {
+            return new IdentityKey(toValidate);
+        }
+        return toValidate;
+    }
+
+    private static final class IdentityKey {
+
+        private final Object bean;
+
+        IdentityKey(Object bean) {
+            this.bean = bean;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).bean == this.bean;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.bean);
+        }
+    }
+}
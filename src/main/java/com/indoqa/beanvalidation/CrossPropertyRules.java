@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import com.indoqa.beanvalidation.property.PropertyExtractor;
+import com.indoqa.beanvalidation.property.PropertyFunction;
+
+/**
+ * The immutable list of the cross-property rules of a {@link BeanValidator}. Every property read by any rule is stored once in
+ * <code>functions</code>, so each property is fetched at most once per validation, no matter how many rules read it. Each rule
+ * refers to its properties by their index in this shared value vector. The vector is filled by the property validators of the
+ * same properties while they validate the bean, see {@link #indexOf(String)}, and the rules only fetch the remaining values they
+ * actually read.
+ * <br/>
+ * Adding a rule returns a new instance, so a compiled {@link ValidationPlan} can share the rules of its {@link BeanValidator}.
+ */
+final class CrossPropertyRules<T> implements PropertyPlan<T> {
+
+    static final CrossPropertyRules<?> EMPTY = new CrossPropertyRules<>(
+        new PropertyFunction[0],
+        new String[0],
+        new String[0],
+        new String[0],
+        new Predicate[0],
+        new int[0][]);
+
+    // the value of a property that was not fetched yet
+    private static final Object NOT_FETCHED = new Object();
+
+    private final PropertyFunction<T, ?>[] functions;
+    private final String[] functionProperties;
+
+    private final String[] properties;
+    private final String[] validationKeys;
+    private final Predicate<PropertyValues>[] rules;
+    private final int[][] valueIndexes;
+
+    private CrossPropertyRules(PropertyFunction<T, ?>[] functions, String[] functionProperties, String[] properties,
+        String[] validationKeys, Predicate<PropertyValues>[] rules, int[][] valueIndexes) {
+        this.functions = functions;
+        this.functionProperties = functionProperties;
+        this.properties = properties;
+        this.validationKeys = validationKeys;
+        this.rules = rules;
+        this.valueIndexes = valueIndexes;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> CrossPropertyRules<T> empty() {
+        return (CrossPropertyRules<T>) EMPTY;
+    }
+
+    private static <E> E[] append(E[] array, E element) {
+        E[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = element;
+        return result;
+    }
+
+    /**
+     * @return a copy of these rules with the given rule added. The names of the read properties are extracted from the method
+     *         references.
+     */
+    CrossPropertyRules<T> add(String property, String validationKey, Predicate<PropertyValues> rule,
+        PropertyFunction<T, ?>[] readFunctions) {
+        String[] readProperties = new String[readFunctions.length];
+        for (int i = 0; i < readFunctions.length; i++) {
+            readProperties[i] = PropertyExtractor.getPropertyName(readFunctions[i]);
+        }
+        return this.add(property, validationKey, rule, readProperties, readFunctions);
+    }
+
+    /**
+     * @return a copy of these rules with the given rule added. Properties are identified by their name, so properties that are
+     *         already read by other rules are not fetched again.
+     */
+    CrossPropertyRules<T> add(String property, String validationKey, Predicate<PropertyValues> rule, String[] readProperties,
+        PropertyFunction<T, ?>[] readFunctions) {
+        if (readProperties.length != readFunctions.length) {
+            throw new IllegalArgumentException(
+                "Expected " + readFunctions.length + " property names, but got " + readProperties.length + ".");
+        }
+
+        PropertyFunction<T, ?>[] newFunctions = this.functions;
+        String[] newFunctionProperties = this.functionProperties;
+
+        int[] indexes = new int[readFunctions.length];
+        for (int i = 0; i < readFunctions.length; i++) {
+            String functionProperty = readProperties[i];
+            int index = Arrays.asList(newFunctionProperties).indexOf(functionProperty);
+            if (index == -1) {
+                index = newFunctions.length;
+                newFunctions = append(newFunctions, readFunctions[i]);
+                newFunctionProperties = append(newFunctionProperties, functionProperty);
+            }
+            indexes[i] = index;
+        }
+
+        return new CrossPropertyRules<>(
+            newFunctions,
+            newFunctionProperties,
+            append(this.properties, property),
+            append(this.validationKeys, validationKey),
+            append(this.rules, rule),
+            append(this.valueIndexes, indexes));
+    }
+
+    boolean isEmpty() {
+        return this.rules.length == 0;
+    }
+
+    /**
+     * @return The index of the property in the value vector or <code>-1</code> if no rule reads it.
+     */
+    int indexOf(String property) {
+        return Arrays.asList(this.functionProperties).indexOf(property);
+    }
+
+    /**
+     * @return A new value vector without any fetched values.
+     */
+    Object[] newValues() {
+        Object[] values = new Object[this.functions.length];
+        Arrays.fill(values, NOT_FETCHED);
+        return values;
+    }
+
+    @Override
+    public ValidationResult validate(T toValidate) {
+        return this.validate(toValidate, null, null);
+    }
+
+    ValidationResult validate(T toValidate, Collection<String> includedProperties) {
+        return this.validate(toValidate, null, includedProperties);
+    }
+
+    /**
+     * Evaluates the rules that report their errors on one of the given properties (or on a nested property of them), or all rules
+     * if <code>includedProperties</code> is <code>null</code>. Only the values read by these rules are fetched.
+     *
+     * @param values the value vector filled by the property validators or <code>null</code> if no value was fetched yet
+     */
+    ValidationResult validate(T toValidate, Object[] values, Collection<String> includedProperties) {
+        if (this.isEmpty()) {
+            return ValidationResult.VALID;
+        }
+
+        ValidationResult result = null;
+        Object[] ruleValues = values;
+        for (int i = 0; i < this.rules.length; i++) {
+            if (includedProperties != null && !isIncluded(this.properties[i], includedProperties)) {
+                continue;
+            }
+
+            ruleValues = this.fetchValues(toValidate, ruleValues, this.valueIndexes[i]);
+            if (!this.rules[i].test(new PropertyValues(ruleValues, this.valueIndexes[i]))) {
+                if (result == null) {
+                    result = new ValidationResult();
+                }
+                result.addError(this.properties[i], this.validationKeys[i]);
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    @Override
+    public ValidationError validateFirst(T toValidate) {
+        return this.validateFirst(toValidate, null);
+    }
+
+    /**
+     * @param values the value vector filled by the property validators or <code>null</code> if no value was fetched yet
+     */
+    ValidationError validateFirst(T toValidate, Object[] values) {
+        if (this.isEmpty()) {
+            return null;
+        }
+
+        Object[] ruleValues = values;
+        for (int i = 0; i < this.rules.length; i++) {
+            ruleValues = this.fetchValues(toValidate, ruleValues, this.valueIndexes[i]);
+            if (!this.rules[i].test(new PropertyValues(ruleValues, this.valueIndexes[i]))) {
+                return ValidationError.of(this.properties[i], this.validationKeys[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The properties whose errors depend on one of the given properties, because a rule reads it.
+     */
+    Set<String> getDependentProperties(Collection<String> readProperties) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < this.rules.length; i++) {
+            for (int index : this.valueIndexes[i]) {
+                if (readProperties.contains(this.functionProperties[index])) {
+                    result.add(this.properties[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The names of the read properties whose values differ between both beans.
+     */
+    Set<String> getChangedProperties(T previousBean, T toValidate) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < this.functions.length; i++) {
+            if (!Objects.equals(this.functions[i].apply(previousBean), this.functions[i].apply(toValidate))) {
+                result.add(this.functionProperties[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isIncluded(String property, Collection<String> includedProperties) {
+        for (String includedProperty : includedProperties) {
+            if (ValidationResult.isSameOrNestedProperty(property, includedProperty)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fetches the values at the given indexes that were not fetched yet.
+     *
+     * @return The value vector, a new one if <code>values</code> is <code>null</code>.
+     */
+    private Object[] fetchValues(T toValidate, Object[] values, int[] indexes) {
+        Object[] result = values;
+        if (result == null) {
+            result = this.newValues();
+        }
+
+        for (int index : indexes) {
+            if (result[index] == NOT_FETCHED) {
+                result[index] = this.functions[index].apply(toValidate);
+            }
+        }
+        return result;
+    }
+}
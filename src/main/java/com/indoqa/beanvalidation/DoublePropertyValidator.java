@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.function.DoublePredicate;
+
+import com.indoqa.beanvalidation.property.DoublePropertyFunction;
+import com.indoqa.beanvalidation.property.PropertyExtractor;
+
+/**
+ * A validator for a property of type <code>double</code>. The value is read via a {@link DoublePropertyFunction},
+ * so neither the property nor the validation rules box the value.
+ *
+ * @param <P> the type of the property (method) - usually handled by the compiler for a given method reference.
+ */
+public final class DoublePropertyValidator<P> extends AbstractPropertyValidator<P> {
+
+    private final DoublePropertyFunction<P> function;
+    private String property;
+
+    private DoublePredicate[] validations = new DoublePredicate[0];
+    private String[] validationKeys = new String[0];
+
+    private DoublePropertyValidator(DoublePropertyFunction<P> function, String property) {
+        super();
+
+        this.function = function;
+        this.property = property;
+    }
+
+    /**
+     * Create a validator for the given method reference (property of a bean).
+     *
+     * @param function the method reference to validate
+     * @return A DoublePropertyValidator for a given method.
+     */
+    public static <P> DoublePropertyValidator<P> forMethod(DoublePropertyFunction<P> function) {
+        return forMethod(function, null);
+    }
+
+    /**
+     * Create a validator for the given method reference (property of a bean), locks the name of the property (for validation
+     * messages).
+     *
+     * @param function the method reference to validate
+     * @param property the name of the property (for validation messages)
+     * @return A DoublePropertyValidator for a given method.
+     */
+    public static <P> DoublePropertyValidator<P> forMethod(DoublePropertyFunction<P> function, String property) {
+        return new DoublePropertyValidator<>(function, property);
+    }
+
+    static ValidationResult validate(double value, String property, DoublePredicate[] validations, String[] validationKeys) {
+        ValidationResult result = null;
+
+        for (int i = 0; i < validations.length; i++) {
+            if (!validations[i].test(value)) {
+                if (result == null) {
+                    result = new ValidationResult();
+                }
+                result.addError(property, validationKeys[i]);
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    static ValidationError validateFirst(double value, String property, DoublePredicate[] validations, String[] validationKeys) {
+        for (int i = 0; i < validations.length; i++) {
+            if (!validations[i].test(value)) {
+                return ValidationError.of(property, validationKeys[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Assigns a property name for validation messages.
+     */
+    public DoublePropertyValidator<P> property(String property) {
+        this.property = property;
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Only validates the property if the condition is satisfied by the bean, e.g. to validate a property only for a certain type
+     * of bean. Multiple conditions must all be satisfied.
+     *
+     * @param condition evaluated against the bean
+     */
+    public DoublePropertyValidator<P> when(Predicate<P> condition) {
+        this.addCondition(condition);
+        return this;
+    }
+
+    /**
+     * Assigns this validator to the given validation groups, see {@link PropertyValidator#groups(String...)}.
+     *
+     * @param validationGroups the names of the validation groups
+     */
+    public DoublePropertyValidator<P> groups(String... validationGroups) {
+        this.setGroups(validationGroups);
+        return this;
+    }
+
+    /**
+     * Validates that the property is greater than <code>0</code>.
+     */
+    public DoublePropertyValidator<P> isPositive() {
+        return this.isTrue("is_positive", (value) -> value > 0);
+    }
+
+    /**
+     * Validates that the property is less than <code>0</code>.
+     */
+    public DoublePropertyValidator<P> isNegative() {
+        return this.isTrue("is_negative", (value) -> value < 0);
+    }
+
+    /**
+     * Validates that the property is greater than the given minimum.
+     *
+     * @param minimum the exclusive lower bound
+     */
+    public DoublePropertyValidator<P> isGreaterThan(double minimum) {
+        return this.isTrue("is_greater_than", (value) -> value > minimum);
+    }
+
+    /**
+     * Validates that the property is less than the given maximum.
+     *
+     * @param maximum the exclusive upper bound
+     */
+    public DoublePropertyValidator<P> isLessThan(double maximum) {
+        return this.isTrue("is_less_than", (value) -> value < maximum);
+    }
+
+    /**
+     * Validates that the property is between the given bounds.
+     *
+     * @param minimum the inclusive lower bound
+     * @param maximum the inclusive upper bound
+     */
+    public DoublePropertyValidator<P> isBetween(double minimum, double maximum) {
+        return this.isTrue("is_between", (value) -> value >= minimum && value <= maximum);
+    }
+
+    /**
+     * Validates that the result of the predicate evaluation is <b>true</b>.
+     *
+     * @param key       for the validation error.
+     * @param predicate to test against
+     */
+    public DoublePropertyValidator<P> isTrue(String key, DoublePredicate predicate) {
+        int index = this.validations.length;
+
+        this.validations = Arrays.copyOf(this.validations, index + 1);
+        this.validations[index] = predicate;
+        this.validationKeys = Arrays.copyOf(this.validationKeys, index + 1);
+        this.validationKeys[index] = key;
+        this.modified();
+
+        return this;
+    }
+
+    /**
+     * Validates that the result of the predicate evaluation is <b>false</b>.
+     *
+     * @param key       for the validation error.
+     * @param predicate to test against
+     */
+    public DoublePropertyValidator<P> isFalse(String key, DoublePredicate predicate) {
+        return this.isTrue(key, predicate.negate());
+    }
+
+    @Override
+    public ValidationResult validate(P toValidate) {
+        if (!this.isApplicable(toValidate)) {
+            return ValidationResult.VALID;
+        }
+
+        return validate(
+            this.function.applyAsDouble(toValidate),
+            this.getPropertyName(),
+            this.validations,
+            this.validationKeys);
+    }
+
+    @Override
+    public ValidationError validateFirst(P toValidate) {
+        if (!this.isApplicable(toValidate)) {
+            return null;
+        }
+
+        return validateFirst(
+            this.function.applyAsDouble(toValidate),
+            this.getPropertyName(),
+            this.validations,
+            this.validationKeys);
+    }
+
+    @Override
+    PropertyPlan<P> compile(@SuppressWarnings("unused") String group) {
+        return new DoublePropertyPlan<>(
+            this.function,
+            this.getCondition(),
+            this.getPropertyName(),
+            this.validations.clone(),
+            this.validationKeys.clone());
+    }
+
+    @Override
+    boolean hasChanged(P previousBean, P toValidate) {
+        return Double.compare(this.function.applyAsDouble(previousBean), this.function.applyAsDouble(toValidate)) != 0;
+    }
+
+    @Override
+    String getPropertyName() {
+        if (this.property != null) {
+            return this.property;
+        }
+        return PropertyExtractor.getPropertyName(this.function);
+    }
+
+    private static final class DoublePropertyPlan<P> implements PropertyPlan<P> {
+
+        private final DoublePropertyFunction<P> function;
+        private final Predicate<P> condition;
+        private final String property;
+        private final DoublePredicate[] validations;
+        private final String[] validationKeys;
+
+        DoublePropertyPlan(DoublePropertyFunction<P> function, Predicate<P> condition, String property,
+            DoublePredicate[] validations, String[] validationKeys) {
+            this.function = function;
+            this.condition = condition;
+            this.property = property;
+            this.validations = validations;
+            this.validationKeys = validationKeys;
+        }
+
+        @Override
+        public ValidationResult validate(P toValidate) {
+            if (this.condition != null && !this.condition.test(toValidate)) {
+                return ValidationResult.VALID;
+            }
+
+            return DoublePropertyValidator.validate(
+                this.function.applyAsDouble(toValidate),
+                this.property,
+                this.validations,
+                this.validationKeys);
+        }
+
+        @Override
+        public ValidationError validateFirst(P toValidate) {
+            if (this.condition != null && !this.condition.test(toValidate)) {
+                return null;
+            }
+
+            return DoublePropertyValidator.validateFirst(
+                this.function.applyAsDouble(toValidate),
+                this.property,
+                this.validations,
+                this.validationKeys);
+        }
+    }
+}
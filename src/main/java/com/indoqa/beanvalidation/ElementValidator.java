@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies a nested validator to every element of an array, a {@link Collection} or to the keys or values of a {@link Map}.
+ * <br/>
+ * Errors of elements are reported as <code>property[index]</code> for arrays and collections, as <code>property[key]</code> for
+ * map values and as <code>property&lt;K&gt;[key]</code> for map keys. Arrays and {@link RandomAccess} lists are iterated by
+ * index without an {@link java.util.Iterator}. <code>null</code> elements are skipped.
+ * <br/>
+ * If a parallel threshold is set, arrays and collections with at least that many elements and a {@link Spliterator#SUBSIZED}
+ * spliterator are split into chunks that are validated in the common {@link ForkJoinPool}. The exact size of each chunk is known,
+ * so the error paths contain the same indexes as in a sequential validation.
+ */
+final class ElementValidator {
+
+    static final int SEQUENTIAL = Integer.MAX_VALUE;
+
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private final ElementType elementType;
+    private final int parallelThreshold;
+    private final BeanValidator<Object> beanValidator;
+    private final PropertyPlan<Object> validationPlan;
+    private final Function<Object, ValidationResult> validator;
+    private final Function<Object, ValidationError> firstErrorValidator;
+
+    private ElementValidator(ElementType elementType, int parallelThreshold, BeanValidator<Object> beanValidator,
+        PropertyPlan<Object> validationPlan, Function<Object, ValidationResult> validator,
+        Function<Object, ValidationError> firstErrorValidator) {
+        this.elementType = elementType;
+        this.parallelThreshold = parallelThreshold;
+        this.beanValidator = beanValidator;
+        this.validationPlan = validationPlan;
+        this.validator = validator;
+        this.firstErrorValidator = firstErrorValidator;
+    }
+
+    static ElementValidator of(ElementType elementType, int parallelThreshold, BeanValidator<Object> beanValidator) {
+        return new ElementValidator(
+            elementType,
+            parallelThreshold,
+            beanValidator,
+            null,
+            beanValidator::validateAll,
+            beanValidator::validateFirst);
+    }
+
+    private static ValidationError prependPath(String path, String propertySeparator, ValidationError validationError) {
+        return ValidationError.of(path + propertySeparator + validationError.getProperty(), validationError.getValidationKey());
+    }
+
+    /**
+     * @param group the validation group or <code>null</code> for all groups
+     * @return an {@link ElementValidator} that uses the compiled {@link ValidationPlan} of the nested {@link BeanValidator}.
+     */
+    ElementValidator compile(String group) {
+        PropertyPlan<Object> validationPlan = this.beanValidator.compileNested(group);
+        return new ElementValidator(
+            this.elementType,
+            this.parallelThreshold,
+            this.beanValidator,
+            validationPlan,
+            validationPlan::validate,
+            validationPlan::validateFirst);
+    }
+
+    ValidationResult validate(Object container, String property, String propertySeparator) {
+        Spliterator<?> spliterator = this.getParallelSpliterator(container);
+        if (spliterator != null) {
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, spliterator.estimateSize() / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+            ElementTask elementTask = new ElementTask(
+                spliterator,
+                0,
+                chunkSize,
+                property,
+                propertySeparator,
+                ValidationPass.current());
+            return ForkJoinPool.commonPool().invoke(elementTask);
+        }
+
+        ElementResult elementResult = new ElementResult(property, propertySeparator);
+        this.visitElements(container, elementResult);
+
+        if (elementResult.result == null) {
+            return ValidationResult.VALID;
+        }
+        return elementResult.result;
+    }
+
+    /**
+     * Validates the elements sequentially and stops at the first violation, regardless of the parallel threshold.
+     */
+    ValidationError validateFirst(Object container, String property, String propertySeparator) {
+        FirstElementError firstElementError = new FirstElementError(property, propertySeparator);
+        this.visitElements(container, firstElementError);
+        return firstElementError.validationError;
+    }
+
+    /**
+     * @return The compiled plan of the elements or <code>null</code> if this validator is not compiled.
+     */
+    PropertyPlan<Object> getValidationPlan() {
+        return this.validationPlan;
+    }
+
+    /**
+     * Passes all elements that are not <code>null</code> together with their path to the action, without validating them.
+     */
+    void forEachElement(Object container, String property, BiConsumer<String, Object> action) {
+        this.visitElements(container, (index, key, element) -> {
+            if (element != null) {
+                action.accept(this.getPath(property, index, key), element);
+            }
+            return true;
+        });
+    }
+
+    private Spliterator<?> getParallelSpliterator(Object container) {
+        if (this.elementType != ElementType.ELEMENTS || this.parallelThreshold == SEQUENTIAL) {
+            return null;
+        }
+
+        Spliterator<?> spliterator;
+        if (container instanceof Object[]) {
+            spliterator = Arrays.spliterator((Object[]) container);
+        } else if (container instanceof Collection) {
+            spliterator = ((Collection<?>) container).spliterator();
+        } else {
+            return null;
+        }
+
+        if (!spliterator.hasCharacteristics(Spliterator.SUBSIZED) || spliterator.estimateSize() < this.parallelThreshold) {
+            return null;
+        }
+        return spliterator;
+    }
+
+    private String getPath(String property, int index, Object key) {
+        if (key == null) {
+            return property + "[" + index + "]";
+        }
+        if (this.elementType == ElementType.MAP_KEYS) {
+            return property + "<K>[" + key + "]";
+        }
+        return property + "[" + key + "]";
+    }
+
+    private void visitElements(Object container, ElementVisitor visitor) {
+        if (container == null) {
+            return;
+        }
+
+        if (this.elementType == ElementType.ELEMENTS) {
+            visitIndexedElements(container, visitor);
+        } else {
+            this.visitEntries(container, visitor);
+        }
+    }
+
+    private static void visitIndexedElements(Object container, ElementVisitor visitor) {
+        if (container instanceof Object[]) {
+            Object[] array = (Object[]) container;
+            for (int i = 0; i < array.length; i++) {
+                if (!visitor.visit(i, null, array[i])) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        if (container instanceof List && container instanceof RandomAccess) {
+            List<?> list = (List<?>) container;
+            for (int i = 0, size = list.size(); i < size; i++) {
+                if (!visitor.visit(i, null, list.get(i))) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        if (container instanceof Iterable) {
+            int index = 0;
+            for (Object eachElement : (Iterable<?>) container) {
+                if (!visitor.visit(index++, null, eachElement)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        throw new IllegalArgumentException("Cannot validate the elements of " + container.getClass().getName() + ".");
+    }
+
+    private void visitEntries(Object container, ElementVisitor visitor) {
+        if (!(container instanceof Map)) {
+            throw new IllegalArgumentException("Cannot validate the entries of " + container.getClass().getName() + ".");
+        }
+
+        boolean keys = this.elementType == ElementType.MAP_KEYS;
+        int index = 0;
+        for (Map.Entry<?, ?> eachEntry : ((Map<?, ?>) container).entrySet()) {
+            Object element = keys ? eachEntry.getKey() : eachEntry.getValue();
+            if (!visitor.visit(index++, eachEntry.getKey(), element)) {
+                return;
+            }
+        }
+    }
+
+    enum ElementType {
+        ELEMENTS, MAP_KEYS, MAP_VALUES
+    }
+
+    private interface ElementVisitor {
+
+        /**
+         * @param index   the position of the element
+         * @param key     the key of a map entry or <code>null</code> for arrays and collections
+         * @param element the element to validate
+         * @return True to continue with the next element, false to stop.
+         */
+        boolean visit(int index, Object key, Object element);
+    }
+
+    private final class ElementResult implements ElementVisitor, Consumer<Object> {
+
+        private final String property;
+        private final String propertySeparator;
+        private ValidationResult result;
+        private int nextIndex;
+
+        ElementResult(String property, String propertySeparator) {
+            this.property = property;
+            this.propertySeparator = propertySeparator;
+        }
+
+        @Override
+        public boolean visit(int index, Object key, Object element) {
+            if (element == null) {
+                return true;
+            }
+
+            ValidationResult elementResult = ElementValidator.this.validator.apply(element);
+            if (elementResult.hasErrors()) {
+                if (this.result == null) {
+                    this.result = new ValidationResult();
+                    this.result.setPropertySeparator(this.propertySeparator);
+                }
+                this.result.addErrors(ElementValidator.this.getPath(this.property, index, key), elementResult);
+            }
+            return true;
+        }
+
+        @Override
+        public void accept(Object element) {
+            this.visit(this.nextIndex++, null, element);
+        }
+    }
+
+    private final class FirstElementError implements ElementVisitor {
+
+        private final String property;
+        private final String propertySeparator;
+        private ValidationError validationError;
+
+        FirstElementError(String property, String propertySeparator) {
+            this.property = property;
+            this.propertySeparator = propertySeparator;
+        }
+
+        @Override
+        public boolean visit(int index, Object key, Object element) {
+            if (element == null) {
+                return true;
+            }
+
+            ValidationError elementError = ElementValidator.this.firstErrorValidator.apply(element);
+            if (elementError == null) {
+                return true;
+            }
+
+            String path = ElementValidator.this.getPath(this.property, index, key);
+            this.validationError = prependPath(path, this.propertySeparator, elementError);
+            return false;
+        }
+    }
+
+    private final class ElementTask extends RecursiveTask<ValidationResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<?> spliterator;
+        private final int startIndex;
+        private final long chunkSize;
+        private final String property;
+        private final String propertySeparator;
+        private final ValidationPass pass;
+
+        ElementTask(Spliterator<?> spliterator, int startIndex, long chunkSize, String property, String propertySeparator,
+            ValidationPass pass) {
+            this.spliterator = spliterator;
+            this.startIndex = startIndex;
+            this.chunkSize = chunkSize;
+            this.property = property;
+            this.propertySeparator = propertySeparator;
+            this.pass = pass;
+        }
+
+        @Override
+        protected ValidationResult compute() {
+            if (this.spliterator.estimateSize() > this.chunkSize) {
+                Spliterator<?> prefix = this.spliterator.trySplit();
+                if (prefix != null) {
+                    // the spliterator is SUBSIZED, so the size of the prefix is exact
+                    int suffixStartIndex = this.startIndex + (int) prefix.estimateSize();
+
+                    ElementTask prefixTask = this.createTask(prefix, this.startIndex);
+                    prefixTask.fork();
+                    ValidationResult suffixResult = this.createTask(this.spliterator, suffixStartIndex).compute();
+                    return merge(prefixTask.join(), suffixResult);
+                }
+            }
+
+            ElementResult elementResult = new ElementResult(this.property, this.propertySeparator);
+            elementResult.nextIndex = this.startIndex;
+            // a worker thread may run this chunk while it is validating a bean of another pass, the pass of the forking thread
+            // doesn't change until all chunks are joined
+            ValidationPass.isolated(this.pass, () -> {
+                this.spliterator.forEachRemaining(elementResult);
+                return elementResult;
+            });
+
+            if (elementResult.result == null) {
+                return ValidationResult.VALID;
+            }
+            return elementResult.result;
+        }
+
+        private ElementTask createTask(Spliterator<?> chunk, int chunkStartIndex) {
+            return new ElementTask(
+                chunk,
+                chunkStartIndex,
+                this.chunkSize,
+                this.property,
+                this.propertySeparator,
+                this.pass);
+        }
+
+        private ValidationResult merge(ValidationResult prefixResult, ValidationResult suffixResult) {
+            if (suffixResult.isValid()) {
+                return prefixResult;
+            }
+            if (prefixResult.isValid()) {
+                return suffixResult;
+            }
+
+            prefixResult.addErrors(suffixResult);
+            return prefixResult;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.*;
+
+/**
+ * Evaluates a {@link ValidationPlan} and all its nested plans with an explicit work stack instead of recursion, so the depth of
+ * the validated bean graph is not limited by the stack size of the thread.
+ * <br/>
+ * A bean on the stack only links the segment of its path, e.g. <code>address</code> or <code>items[3]</code>, to the path of
+ * its parent bean, so the memory and time for valid beans grow linearly with the depth. All errors are appended to one list
+ * with their property concatenated to the path of their bean, see {@link ValidationResult#getErrors()}: the paths are
+ * rendered only when they are read.
+ * <br/>
+ * Like the recursive validation, the iterative validation is safe for cyclic and shared graphs: a bean that is already being
+ * validated by the same plan on the current path is skipped, as well as beans nested deeper than the maximum depth of the plan.
+ * The errors of each (plan, bean) pair are memoized by identity, so a bean that is referenced several times is validated only
+ * once and its errors are reported for every path. Errors of a bean that missed nested beans because of the maximum depth are
+ * only reused at the same depth. Other than the recursive validation, nested beans that are <code>null</code> are skipped.
+ *
+ * @param <T> the type of the bean to validate
+ * @see ValidationPlan#iterative()
+ */
+public final class IterativeValidationPlan<T> {
+
+    private final ValidationPlan<T> validationPlan;
+
+    IterativeValidationPlan(ValidationPlan<T> validationPlan) {
+        this.validationPlan = validationPlan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValidationPlan<Object> resolve(PropertyPlan<?> propertyPlan) {
+        if (propertyPlan instanceof PlanReference) {
+            return ((PlanReference<Object>) propertyPlan).getValidationPlan();
+        }
+        return (ValidationPlan<Object>) propertyPlan;
+    }
+
+    /**
+     * Evaluates all compiled validation rules against the &lt;T&gt; bean and its nested beans.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return ValidationResult as container for validation errors.
+     */
+    @SuppressWarnings("unchecked")
+    public ValidationResult validate(T toValidate) {
+        if (toValidate == null) {
+            return ValidationResult.VALID;
+        }
+
+        Walk walk = new Walk(this.validationPlan.getMaxDepth());
+        Frame rootFrame = new Frame((ValidationPlan<Object>) this.validationPlan, toValidate, null, null, null, 0);
+        List<ValidationError> errors = walk.run(rootFrame);
+        if (errors.isEmpty()) {
+            return ValidationResult.VALID;
+        }
+
+        ValidationResult result = new ValidationResult();
+        errors.forEach(result::addError);
+        return result;
+    }
+
+    private static final class Frame {
+
+        private final PlanBean planBean;
+        private final Frame parent;
+        private final PropertyPath path;
+        private final String separator;
+        private final int depth;
+
+        // set when the frame is entered, the frame stays on the stack to be exited after all its nested frames
+        private boolean entered;
+        // the index of the first error of the bean and its nested beans in the errors of the walk
+        private int firstError;
+        // set when nested beans were skipped because of the maximum depth
+        private boolean cutShort;
+
+        /**
+         * @param segment   the path of the bean below the bean of the parent frame
+         * @param separator between the segment and the properties of the bean
+         */
+        Frame(ValidationPlan<Object> plan, Object bean, Frame parent, String segment, String separator, int depth) {
+            this.planBean = new PlanBean(plan, bean);
+            this.parent = parent;
+            this.path = createPath(parent, segment);
+            this.separator = separator;
+            this.depth = depth;
+        }
+
+        private static PropertyPath createPath(Frame parent, String segment) {
+            if (parent == null) {
+                return null;
+            }
+
+            if (parent.path == null) {
+                return PropertyPath.of(segment);
+            }
+
+            return PropertyPath.concat(parent.path, parent.separator, PropertyPath.of(segment));
+        }
+
+        /**
+         * @return The path of a property of the bean, the path of the bean is shared and not copied.
+         */
+        PropertyPath getPath(PropertyPath propertyPath) {
+            if (this.path == null) {
+                return propertyPath;
+            }
+            return PropertyPath.concat(this.path, this.separator, propertyPath);
+        }
+    }
+
+    /**
+     * The errors of a validated (plan, bean) pair, kept as range of the errors of the walk.
+     */
+    private static final class Memo {
+
+        private final PropertyPath path;
+        private final int firstError;
+        private final int lastError;
+        // -1 if the bean has been validated completely, the errors are only valid at the same remaining depth otherwise
+        private final int remainingDepth;
+
+        Memo(PropertyPath path, int firstError, int lastError, int remainingDepth) {
+            this.path = path;
+            this.firstError = firstError;
+            this.lastError = lastError;
+            this.remainingDepth = remainingDepth;
+        }
+    }
+
+    private static final class PlanBean {
+
+        private final ValidationPlan<Object> plan;
+        private final Object bean;
+
+        PlanBean(ValidationPlan<Object> plan, Object bean) {
+            this.plan = plan;
+            this.bean = bean;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PlanBean)) {
+                return false;
+            }
+
+            PlanBean other = (PlanBean) obj;
+            return other.plan == this.plan && other.bean == this.bean;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.plan) + System.identityHashCode(this.bean);
+        }
+    }
+
+    /**
+     * The state of a single validation: the work stack, the beans on the current path, the errors and the memoized ranges of
+     * the errors.
+     */
+    private static final class Walk {
+
+        private final int maxDepth;
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private final Set<PlanBean> currentPath = new HashSet<>();
+        private final Map<PlanBean, Memo> memo = new HashMap<>();
+        private final List<ValidationError> errors = new ArrayList<>();
+
+        Walk(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        List<ValidationError> run(Frame rootFrame) {
+            this.stack.push(rootFrame);
+
+            while (!this.stack.isEmpty()) {
+                Frame frame = this.stack.peek();
+
+                if (frame.entered) {
+                    this.stack.pop();
+                    this.currentPath.remove(frame.planBean);
+                    this.exit(frame);
+                    continue;
+                }
+
+                if (this.currentPath.contains(frame.planBean)) {
+                    this.stack.pop();
+                    continue;
+                }
+
+                Memo memoizedErrors = this.getMemo(frame);
+                if (memoizedErrors != null) {
+                    this.stack.pop();
+                    this.reuse(frame, memoizedErrors);
+                    continue;
+                }
+
+                frame.entered = true;
+                frame.firstError = this.errors.size();
+                this.currentPath.add(frame.planBean);
+                this.validateProperties(frame);
+            }
+
+            return this.errors;
+        }
+
+        private Memo getMemo(Frame frame) {
+            Memo memoizedErrors = this.memo.get(frame.planBean);
+            if (memoizedErrors == null || memoizedErrors.remainingDepth == -1) {
+                return memoizedErrors;
+            }
+
+            if (memoizedErrors.remainingDepth != this.maxDepth - frame.depth) {
+                return null;
+            }
+
+            frame.parent.cutShort = true;
+            return memoizedErrors;
+        }
+
+        /**
+         * Memoizes the range of the errors of the bean and its nested beans.
+         */
+        private void exit(Frame frame) {
+            int remainingDepth = frame.cutShort ? this.maxDepth - frame.depth : -1;
+            this.memo.put(frame.planBean, new Memo(frame.path, frame.firstError, this.errors.size(), remainingDepth));
+
+            if (frame.cutShort && frame.parent != null) {
+                frame.parent.cutShort = true;
+            }
+        }
+
+        /**
+         * Appends the memoized errors of a bean again, with the path of the bean on the current path.
+         */
+        private void reuse(Frame frame, Memo memoizedErrors) {
+            Map<PropertyPath, PropertyPath> rebasedPaths = new IdentityHashMap<>();
+
+            for (int i = memoizedErrors.firstError; i < memoizedErrors.lastError; i++) {
+                ValidationError error = this.errors.get(i);
+                PropertyPath propertyPath = rebase(error.getPropertyPath(), memoizedErrors.path, frame, rebasedPaths);
+                this.errors.add(ValidationError.of(propertyPath, error.getValidationKey()));
+            }
+        }
+
+        /**
+         * @return The path with the path of the memoized bean replaced by the path of the bean of the frame. Only the paths of
+         *         the nested beans in between are copied, once for all their errors.
+         */
+        private static PropertyPath rebase(PropertyPath propertyPath, PropertyPath memoizedPath, Frame frame,
+                Map<PropertyPath, PropertyPath> rebasedPaths) {
+            // all errors of the memoized bean are concatenated to its path or to the paths of its nested beans
+            Deque<PropertyPath> paths = new ArrayDeque<>();
+            PropertyPath path = propertyPath;
+            while (path.getPrefix() != memoizedPath && !rebasedPaths.containsKey(path.getPrefix())) {
+                paths.push(path);
+                path = path.getPrefix();
+            }
+
+            PropertyPath rebasedPath;
+            if (path.getPrefix() == memoizedPath) {
+                // the separator behind the bean belongs to the property plan that references the bean on the current path
+                rebasedPath = PropertyPath.concat(frame.path, frame.separator, path.getNested());
+            } else {
+                rebasedPath = PropertyPath.concat(rebasedPaths.get(path.getPrefix()), path.getSeparator(), path.getNested());
+            }
+            rebasedPaths.put(path, rebasedPath);
+
+            while (!paths.isEmpty()) {
+                path = paths.pop();
+                rebasedPath = PropertyPath.concat(rebasedPath, path.getSeparator(), path.getNested());
+                rebasedPaths.put(path, rebasedPath);
+            }
+            return rebasedPath;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void validateProperties(Frame frame) {
+            Object bean = frame.planBean.bean;
+            List<Frame> nestedFrames = new ArrayList<>();
+
+            for (PropertyPlan<Object> propertyPlan : frame.planBean.plan.getPropertyPlans()) {
+                if (propertyPlan instanceof ObjectPropertyPlan) {
+                    this.validateProperty(frame, (ObjectPropertyPlan<Object, Object>) propertyPlan, nestedFrames);
+                    continue;
+                }
+
+                // primitive properties and cross-property rules have no nested beans
+                this.addErrors(frame, propertyPlan.validate(bean));
+            }
+
+            // pushed in reverse order, so the nested beans are validated in the order of their declaration
+            for (int i = nestedFrames.size() - 1; i >= 0; i--) {
+                this.stack.push(nestedFrames.get(i));
+            }
+        }
+
+        private void validateProperty(Frame frame, ObjectPropertyPlan<Object, Object> propertyPlan, List<Frame> nestedFrames) {
+            Object bean = frame.planBean.bean;
+            if (!propertyPlan.isApplicable(bean)) {
+                return;
+            }
+
+            Object value = propertyPlan.getValue(bean);
+            this.addErrors(frame, propertyPlan.validateRules(value, true));
+
+            if (value == null || propertyPlan.getNestedPlans().length == 0 && propertyPlan.getElementValidators().length == 0) {
+                return;
+            }
+
+            int nestedDepth = frame.depth + 1;
+            if (nestedDepth > this.maxDepth) {
+                frame.cutShort = true;
+                return;
+            }
+
+            String property = propertyPlan.getProperty();
+            String separator = propertyPlan.getPropertySeparator();
+            for (PropertyPlan<Object> nestedPlan : propertyPlan.getNestedPlans()) {
+                nestedFrames.add(new Frame(resolve(nestedPlan), value, frame, property, separator, nestedDepth));
+            }
+
+            for (ElementValidator elementValidator : propertyPlan.getElementValidators()) {
+                ValidationPlan<Object> elementPlan = resolve(elementValidator.getValidationPlan());
+                elementValidator.forEachElement(value, property, (elementPath, element) -> {
+                    nestedFrames.add(new Frame(elementPlan, element, frame, elementPath, separator, nestedDepth));
+                });
+            }
+        }
+
+        private void addErrors(Frame frame, ValidationResult result) {
+            for (ValidationError error : result.getErrorList()) {
+                this.errors.add(ValidationError.of(frame.getPath(error.getPropertyPath()), error.getValidationKey()));
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.function.Predicate;
+
+import com.indoqa.beanvalidation.property.PropertyFunction;
+
+/**
+ * The compiled form of a {@link PropertyValidator}. The property value is fetched once and passed to every validation and nested
+ * plan. The {@link ValidationRules} are immutable and therefore shared with the {@link PropertyValidator}. Asynchronous rules are
+ * awaited.
+ * <br/>
+ * An uncompiled {@link PropertyValidator} evaluates through a plan as well, whose nested plans validate with the current
+ * {@link BeanValidator}s instead of their compiled plans.
+ */
+final class ObjectPropertyPlan<P, R> implements PropertyPlan<P> {
+
+    private final PropertyFunction<P, R> function;
+    private final Predicate<P> condition;
+    private final String property;
+    private final String propertySeparator;
+
+    private final ValidationRules validationRules;
+    private final AsyncRule[] asyncRules;
+    private final PropertyPlan<R>[] nestedPlans;
+    private final ElementValidator[] elementValidators;
+
+    ObjectPropertyPlan(PropertyFunction<P, R> function, Predicate<P> condition, String property, String propertySeparator,
+        ValidationRules validationRules, AsyncRule[] asyncRules, PropertyPlan<R>[] nestedPlans,
+        ElementValidator[] elementValidators) {
+        this.function = function;
+        this.condition = condition;
+        this.property = property;
+        this.propertySeparator = propertySeparator;
+        this.validationRules = validationRules;
+        this.asyncRules = asyncRules;
+        this.nestedPlans = nestedPlans;
+        this.elementValidators = elementValidators;
+    }
+
+    @Override
+    public ValidationResult validate(P toValidate) {
+        if (!this.isApplicable(toValidate)) {
+            return ValidationResult.VALID;
+        }
+        return this.validateValue(this.function.apply(toValidate), true);
+    }
+
+    /**
+     * Validates the property and stores its value in the value vector of the cross-property rules, which read it as well.
+     */
+    ValidationResult validate(P toValidate, Object[] ruleValues, int valueIndex) {
+        if (!this.isApplicable(toValidate)) {
+            return ValidationResult.VALID;
+        }
+
+        R value = this.function.apply(toValidate);
+        ruleValues[valueIndex] = value;
+        return this.validateValue(value, true);
+    }
+
+    /**
+     * @param synchronous true to evaluate the asynchronous rules and the nested plans too, false if the caller does it
+     */
+    ValidationResult validateValue(R value, boolean synchronous) {
+        ValidationResult result = this.validateRules(value, synchronous);
+        if (result.isValid()) {
+            result = null;
+        }
+
+        if (synchronous) {
+            for (PropertyPlan<R> nestedPlan : this.nestedPlans) {
+                ValidationResult nestedResult = nestedPlan.validate(value);
+                if (nestedResult.hasErrors()) {
+                    result = this.getResult(result);
+                    result.addErrors(this.property, nestedResult);
+                }
+            }
+        }
+
+        for (ElementValidator elementValidator : this.elementValidators) {
+            ValidationResult elementResult = elementValidator.validate(value, this.property, this.propertySeparator);
+            if (elementResult.hasErrors()) {
+                result = this.getResult(result);
+                result.addErrors(elementResult);
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    @Override
+    public ValidationError validateFirst(P toValidate) {
+        if (!this.isApplicable(toValidate)) {
+            return null;
+        }
+        return this.validateFirstValue(this.function.apply(toValidate));
+    }
+
+    /**
+     * Validates the property and stores its value in the value vector of the cross-property rules, which read it as well.
+     */
+    ValidationError validateFirst(P toValidate, Object[] ruleValues, int valueIndex) {
+        if (!this.isApplicable(toValidate)) {
+            return null;
+        }
+
+        R value = this.function.apply(toValidate);
+        ruleValues[valueIndex] = value;
+        return this.validateFirstValue(value);
+    }
+
+    private ValidationError validateFirstValue(R value) {
+        int violation = this.validationRules.indexOfViolation(value, 0);
+        if (violation != -1) {
+            return ValidationError.of(this.property, this.validationRules.getValidationKey(violation));
+        }
+
+        for (AsyncRule asyncRule : this.asyncRules) {
+            if (!asyncRule.testAndWait(value)) {
+                return ValidationError.of(this.property, asyncRule.getValidationKey());
+            }
+        }
+
+        for (PropertyPlan<R> nestedPlan : this.nestedPlans) {
+            ValidationError nestedError = nestedPlan.validateFirst(value);
+            if (nestedError != null) {
+                return ValidationError.of(
+                    this.property + this.propertySeparator + nestedError.getProperty(),
+                    nestedError.getValidationKey());
+            }
+        }
+
+        for (ElementValidator elementValidator : this.elementValidators) {
+            ValidationError elementError = elementValidator.validateFirst(value, this.property, this.propertySeparator);
+            if (elementError != null) {
+                return elementError;
+            }
+        }
+
+        return null;
+    }
+
+    boolean isApplicable(P toValidate) {
+        return this.condition == null || this.condition.test(toValidate);
+    }
+
+    R getValue(P toValidate) {
+        return this.function.apply(toValidate);
+    }
+
+    String getProperty() {
+        return this.property;
+    }
+
+    String getPropertySeparator() {
+        return this.propertySeparator;
+    }
+
+    PropertyPlan<R>[] getNestedPlans() {
+        return this.nestedPlans;
+    }
+
+    ElementValidator[] getElementValidators() {
+        return this.elementValidators;
+    }
+
+    /**
+     * Evaluates the validation rules of the property without its nested plans and element validators.
+     *
+     * @param withAsyncRules true to evaluate and await the asynchronous rules too
+     */
+    ValidationResult validateRules(R value, boolean withAsyncRules) {
+        ValidationResult result = null;
+
+        ValidationRules rules = this.validationRules;
+        for (int i = rules.indexOfViolation(value, 0); i != -1; i = rules.indexOfViolation(value, i + 1)) {
+            result = this.getResult(result);
+            result.addError(this.property, rules.getValidationKey(i));
+        }
+
+        if (withAsyncRules) {
+            for (AsyncRule asyncRule : this.asyncRules) {
+                if (!asyncRule.testAndWait(value)) {
+                    result = this.getResult(result);
+                    result.addError(this.property, asyncRule.getValidationKey());
+                }
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    ValidationResult getResult(ValidationResult result) {
+        if (result != null) {
+            return result;
+        }
+
+        ValidationResult newResult = new ValidationResult();
+        newResult.setPropertySeparator(this.propertySeparator);
+        return newResult;
+    }
+}
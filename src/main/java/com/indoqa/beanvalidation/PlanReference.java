@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+/**
+ * A reference to a {@link ValidationPlan} that is still being compiled. It is used for recursive {@link BeanValidator}s, e.g. a
+ * validator of a tree node that validates the children of the node with itself. The plan is set once its compilation is finished,
+ * before the outermost plan is returned, and published via a volatile field.
+ */
+final class PlanReference<T> implements PropertyPlan<T> {
+
+    private volatile ValidationPlan<T> validationPlan;
+
+    void setValidationPlan(ValidationPlan<T> validationPlan) {
+        this.validationPlan = validationPlan;
+    }
+
+    ValidationPlan<T> getValidationPlan() {
+        return this.validationPlan;
+    }
+
+    @Override
+    public ValidationResult validate(T toValidate) {
+        return this.validationPlan.validate(toValidate);
+    }
+
+    @Override
+    public ValidationError validateFirst(T toValidate) {
+        return this.validationPlan.validateFirst(toValidate);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The path of a {@link ValidationError}, kept as chain of segments from the outermost to the innermost property. Nesting a
+ * path into a parent property only links a new segment in front of the existing chain, the path is rendered to a
+ * <code>String</code> once when {@link #toString()} is called.
+ * <br/>
+ * A path can also be concatenated to a prefix path, the prefix is shared and not copied. This links the paths of all errors
+ * of a bean to the single path of the bean, see {@link IterativeValidationPlan}.
+ */
+final class PropertyPath {
+
+    // set for concatenated paths only, the segment of a concatenated path is null
+    private final PropertyPath prefix;
+    private final String segment;
+    private final String separator;
+    private final PropertyPath nested;
+
+    private PropertyPath(PropertyPath prefix, String segment, String separator, PropertyPath nested) {
+        this.prefix = prefix;
+        this.segment = segment;
+        this.separator = separator;
+        this.nested = nested;
+    }
+
+    static PropertyPath of(String property) {
+        return new PropertyPath(null, property, null, null);
+    }
+
+    /**
+     * @return A new path with the path appended to the prefix, neither the prefix nor the path are copied.
+     */
+    static PropertyPath concat(PropertyPath prefix, String separator, PropertyPath path) {
+        return new PropertyPath(prefix, null, separator, path);
+    }
+
+    /**
+     * @return A new path with this path nested into the property, this path is shared and not copied.
+     */
+    PropertyPath prepend(String property, String propertySeparator) {
+        return new PropertyPath(null, property, propertySeparator, this);
+    }
+
+    /**
+     * @return The prefix of a concatenated path or <code>null</code>.
+     */
+    PropertyPath getPrefix() {
+        return this.prefix;
+    }
+
+    String getSeparator() {
+        return this.separator;
+    }
+
+    PropertyPath getNested() {
+        return this.nested;
+    }
+
+    /**
+     * @return The segments and separators of this path in turns, from the outermost segment to the innermost one.
+     */
+    List<String> getTokens() {
+        List<String> tokens = new ArrayList<>();
+        this.visit(tokens::add);
+        return tokens;
+    }
+
+    @Override
+    public String toString() {
+        if (this.nested == null) {
+            return this.segment;
+        }
+
+        if (this.isChain()) {
+            return this.renderChain();
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
+        this.visit(stringBuilder::append);
+        return stringBuilder.toString();
+    }
+
+    private boolean isChain() {
+        for (PropertyPath path = this; path != null; path = path.nested) {
+            if (path.prefix != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String renderChain() {
+        int length = 0;
+        for (PropertyPath path = this; path != null; path = path.nested) {
+            length += path.segment.length();
+            if (path.nested != null) {
+                length += path.separator.length();
+            }
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(length);
+        for (PropertyPath path = this; path != null; path = path.nested) {
+            stringBuilder.append(path.segment);
+            if (path.nested != null) {
+                stringBuilder.append(path.separator);
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Passes the segments and separators in order to the visitor, with an explicit stack since the prefixes of deeply nested
+     * beans are long chains.
+     */
+    private void visit(TokenVisitor visitor) {
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+
+        while (!pending.isEmpty()) {
+            Object next = pending.pop();
+            if (next instanceof String) {
+                visitor.visit((String) next);
+                continue;
+            }
+
+            PropertyPath path = (PropertyPath) next;
+            if (path.nested != null) {
+                pending.push(path.nested);
+                pending.push(path.separator);
+            }
+            if (path.prefix != null) {
+                pending.push(path.prefix);
+            } else {
+                visitor.visit(path.segment);
+            }
+        }
+    }
+
+    private interface TokenVisitor {
+
+        void visit(String token);
+    }
+}
@@ -19,6 +19,9 @@ package com.indoqa.beanvalidation;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import com.indoqa.beanvalidation.property.PropertyExtractor;
@@ -31,15 +34,27 @@ import com.indoqa.beanvalidation.property.PropertyFunction;
  * @param <P> the type of the property (method) - usually handled by the compiler for a given method reference.
  * @param <R> the return type of the method - usually handled by the compiler for a given method reference.
  */
-public class PropertyValidator<P, R extends Object> {
+public class PropertyValidator<P, R extends Object> extends AbstractPropertyValidator<P> {
+
+    /**
+     * The cost of custom predicates if no cost is given. Built-in validations have a cost of <code>0</code>.
+     */
+    public static final int DEFAULT_COST = 10;
+
+    private static final int BUILT_IN_COST = 0;
 
     private PropertyFunction<P, R> function;
     private String property;
     private String propertySeparator = ".";
 
-    private Map<Predicate, String> validationsMustBeTrue = new HashMap<>();
-    private Map<Predicate, String> validationsMustBeFalse = new HashMap<>();
+    // predicates are evaluated against the value of the property, not against the bean
+    private ValidationRules validationRules = ValidationRules.EMPTY;
     private List<BeanValidator> beanValidators = new ArrayList<>();
+    private List<ElementValidator> elementValidators = new ArrayList<>();
+    private List<AsyncRule> asyncRules = new ArrayList<>();
+
+    // evaluates the current configuration, reset by every modification
+    private ObjectPropertyPlan<P, R> plan;
 
     /**
      * Create a validator for the given method reference (property of a bean).
@@ -82,24 +97,35 @@ public class PropertyValidator<P, R extends Object> {
         return validator;
     }
 
-    private void addValidatesIfTrue(String key, Predicate predicate) {
-        this.validationsMustBeTrue.put(predicate, key);
+    private void addValidatesIfTrue(String key, Predicate predicate, int cost) {
+        this.validationRules = this.validationRules.add(key, predicate, true, cost);
+        this.modified();
     }
 
-    private void addValidatesIfFalse(String key, Predicate predicate) {
-        this.validationsMustBeFalse.put(predicate, key);
+    private void addValidatesIfFalse(String key, Predicate predicate, int cost) {
+        this.validationRules = this.validationRules.add(key, predicate, false, cost);
+        this.modified();
     }
 
     private void setFunction(PropertyFunction<P, R> function) {
         this.function = function;
+        this.modified();
     }
 
     private void setProperty(String property) {
         this.property = property;
+        this.modified();
     }
 
     private void setPropertySeparator(String propertySeparator) {
         this.propertySeparator = propertySeparator;
+        this.modified();
+    }
+
+    @Override
+    void modified() {
+        super.modified();
+        this.plan = null;
     }
 
     /**
@@ -118,11 +144,34 @@ public class PropertyValidator<P, R extends Object> {
         return this;
     }
 
+    /**
+     * Only validates the property if the condition is satisfied by the bean, e.g. to validate a property only for a certain type
+     * of bean. Multiple conditions must all be satisfied.
+     *
+     * @param condition evaluated against the bean
+     */
+    public PropertyValidator<P, R> when(Predicate<P> condition) {
+        this.addCondition(condition);
+        return this;
+    }
+
+    /**
+     * Assigns this validator to the given validation groups, e.g. <code>"create"</code> or <code>"update"</code>. It is only
+     * evaluated by {@link BeanValidator#validateAll(Object, String)} for these groups. Validators without any group are evaluated
+     * for all groups.
+     *
+     * @param validationGroups the names of the validation groups
+     */
+    public PropertyValidator<P, R> groups(String... validationGroups) {
+        this.setGroups(validationGroups);
+        return this;
+    }
+
     /**
      * Validates that the property is not null.
      */
     public PropertyValidator<P, R> isNotNull() {
-        this.addValidatesIfTrue("is_not_null", (t) -> this.function.apply((P) t) != null);
+        this.addValidatesIfTrue("is_not_null", BuiltInValidation.IS_NOT_NULL, BUILT_IN_COST);
         return this;
     }
 
@@ -130,7 +179,7 @@ public class PropertyValidator<P, R extends Object> {
      * Validates that the property is null.
      */
     public PropertyValidator<P, R> isNull() {
-        this.addValidatesIfTrue("is_null", (t) -> this.function.apply((P) t) == null);
+        this.addValidatesIfTrue("is_null", BuiltInValidation.IS_NULL, BUILT_IN_COST);
         return this;
     }
 
@@ -143,40 +192,10 @@ public class PropertyValidator<P, R extends Object> {
      * </ul>
      */
     public PropertyValidator<P, R> isEmpty() {
-        this.addValidatesIfTrue("is_empty", (t) -> {
-            Object value = this.function.apply((P) t);
-            if (value == null) {
-                return false;
-            }
-            if (value instanceof String) {
-                return ((String) value).isEmpty();
-            }
-            Boolean collectionsIsEmpty = getCollectionsIsEmpty(value);
-            if (collectionsIsEmpty != null) {
-                return collectionsIsEmpty;
-            }
-
-            return true;
-        });
+        this.addValidatesIfTrue("is_empty", BuiltInValidation.IS_EMPTY, BUILT_IN_COST);
         return this;
     }
 
-    private Boolean getCollectionsIsEmpty(Object value) {
-        if (value instanceof Collection) {
-            return ((Collection) value).isEmpty();
-        }
-        if (value instanceof Map) {
-            return ((Map) value).isEmpty();
-        }
-        if (value instanceof Object[]) {
-            return ((Object[]) value).length == 0;
-        }
-        if (value.getClass().isArray()) {
-            return Array.getLength(value) == 0;
-        }
-        return null;
-    }
-
     /**
      * Validates that the property is not empty.
      * <br/>
@@ -187,21 +206,7 @@ public class PropertyValidator<P, R extends Object> {
      * </ul>
      */
     public PropertyValidator<P, R> isNotEmpty() {
-        this.addValidatesIfFalse("is_not_empty", (t) -> {
-            Object value = this.function.apply((P) t);
-            if (value == null) {
-                return true;
-            }
-            if (value instanceof String) {
-                return ((String) value).isEmpty();
-            }
-            Boolean collectionsIsEmpty = getCollectionsIsEmpty(value);
-            if (collectionsIsEmpty != null) {
-                return collectionsIsEmpty;
-            }
-
-            return false;
-        });
+        this.addValidatesIfFalse("is_not_empty", BuiltInValidation.IS_NOT_EMPTY, BUILT_IN_COST);
         return this;
     }
 
@@ -215,16 +220,7 @@ public class PropertyValidator<P, R extends Object> {
      * </ul>
      */
     public PropertyValidator<P, R> isTrue() {
-        this.addValidatesIfTrue("is_true", (t) -> {
-            Object value = this.function.apply((P) t);
-            if (value == null) {
-                return false;
-            }
-            if (value instanceof Boolean) {
-                return ((Boolean) value);
-            }
-            return true;
-        });
+        this.addValidatesIfTrue("is_true", BuiltInValidation.IS_TRUE, BUILT_IN_COST);
         return this;
     }
 
@@ -238,16 +234,7 @@ public class PropertyValidator<P, R extends Object> {
      * </ul>
      */
     public PropertyValidator<P, R> isFalse() {
-        this.addValidatesIfFalse("is_false", (t) -> {
-            Object value = this.function.apply((P) t);
-            if (value == null) {
-                return true;
-            }
-            if (value instanceof Boolean) {
-                return ((Boolean) value);
-            }
-            return false;
-        });
+        this.addValidatesIfFalse("is_false", BuiltInValidation.IS_FALSE, BUILT_IN_COST);
         return this;
     }
 
@@ -259,15 +246,28 @@ public class PropertyValidator<P, R extends Object> {
      * @param predicate to test against
      */
     public PropertyValidator<P, R> isTrue(String key, Predicate<R> predicate) {
-        this.addValidatesIfTrue(key, (t) -> {
-            R value = this.function.apply((P) t);
+        return this.isTrue(key, predicate, DEFAULT_COST);
+    }
+
+    /**
+     * Validates that the result of the predicate evaluation is <b>true</b>.
+     * If the property is null it does not validate.
+     * <br/>
+     * Validations are evaluated in the order of their cost, so expensive predicates should be given a higher cost than
+     * {@link #DEFAULT_COST}.
+     *
+     * @param key       for the validation error.
+     * @param predicate to test against
+     * @param cost      a hint for the evaluation order, lower costs are evaluated first
+     */
+    public PropertyValidator<P, R> isTrue(String key, Predicate<R> predicate, int cost) {
+        this.addValidatesIfTrue(key, (value) -> {
             if (value == null) {
                 return false;
             }
-            return predicate.test(value);
-        });
+            return predicate.test((R) value);
+        }, cost);
         return this;
-
     }
 
     /**
@@ -278,51 +278,213 @@ public class PropertyValidator<P, R extends Object> {
      * @param predicate to test against
      */
     public PropertyValidator<P, R> isFalse(String key, Predicate<R> predicate) {
-        this.addValidatesIfFalse(key, (t) -> {
-            R value = this.function.apply((P) t);
+        return this.isFalse(key, predicate, DEFAULT_COST);
+    }
+
+    /**
+     * Validates that the result of the predicate evaluation is <b>false</b>.
+     * If the property is null it does not validate.
+     * <br/>
+     * Validations are evaluated in the order of their cost, so expensive predicates should be given a higher cost than
+     * {@link #DEFAULT_COST}.
+     *
+     * @param key       for the validation error.
+     * @param predicate to test against
+     * @param cost      a hint for the evaluation order, lower costs are evaluated first
+     */
+    public PropertyValidator<P, R> isFalse(String key, Predicate<R> predicate, int cost) {
+        this.addValidatesIfFalse(key, (value) -> {
             if (value == null) {
                 return true;
             }
-            return predicate.test(value);
-        });
+            return predicate.test((R) value);
+        }, cost);
         return this;
     }
 
     /**
-     * Evaluates all given validation rules against the &lt;P&gt; bean.
+     * Validates that the asynchronously computed result of the predicate is <b>true</b>, e.g. for uniqueness checks or reference
+     * lookups against a store. If the property is null it does not validate.
+     * <br/>
+     * {@link BeanValidator#validateAllAsync(Object, Executor)} doesn't block while waiting for the result, all other ways of
+     * validation wait for it. Use a {@link BulkLookup} to coalesce the lookups of all beans of a batch into a single call.
      *
-     * @param toValidate the &lt;P&gt; bean to validate
-     * @return ValidationResult as container for validation errors.
+     * @param key       for the validation error.
+     * @param predicate to test against
      */
+    public PropertyValidator<P, R> isTrueAsync(String key, Function<R, CompletableFuture<Boolean>> predicate) {
+        this.asyncRules.add(new AsyncRule(key, (Function) predicate));
+        this.modified();
+        return this;
+    }
+
+    @Override
     public ValidationResult validate(P toValidate) {
-        ValidationResult result = new ValidationResult();
-        result.setPropertySeparator(this.propertySeparator);
+        return this.getPlan().validate(toValidate);
+    }
+
+    @Override
+    ValidationResult validate(P toValidate, Object[] ruleValues, int valueIndex) {
+        return this.getPlan().validate(toValidate, ruleValues, valueIndex);
+    }
 
-        if (this.property == null) {
-            this.property = PropertyExtractor.getPropertyName(this.function);
+    @Override
+    CompletableFuture<ValidationResult> validateAsync(P toValidate, Executor executor, Set<BulkLookup<?>> pendingLookups) {
+        ObjectPropertyPlan<P, R> objectPropertyPlan = this.getPlan();
+        if (this.asyncRules.isEmpty() && this.beanValidators.isEmpty() || !objectPropertyPlan.isApplicable(toValidate)) {
+            return super.validateAsync(toValidate, executor, pendingLookups);
         }
 
-        for (Map.Entry<Predicate, String> eachEntry : this.validationsMustBeTrue.entrySet()) {
-            Predicate predicate = eachEntry.getKey();
-            if (!predicate.test(toValidate)) {
-                result.addError(this.property, eachEntry.getValue());
-            }
+        String propertyName = objectPropertyPlan.getProperty();
+        R value = objectPropertyPlan.getValue(toValidate);
+
+        CompletableFuture<ValidationResult> result = CompletableFuture.supplyAsync(
+            () -> objectPropertyPlan.validateValue(value, false),
+            executor);
+        for (AsyncRule asyncRule : this.asyncRules) {
+            result = result.thenCombine(asyncRule.test(value, pendingLookups), (validationResult, valid) -> {
+                if (valid) {
+                    return validationResult;
+                }
+
+                ValidationResult newResult = getModifiableResult(objectPropertyPlan, validationResult);
+                newResult.addError(propertyName, asyncRule.getValidationKey());
+                return newResult;
+            });
         }
 
-        for (Map.Entry<Predicate, String> eachEntry : this.validationsMustBeFalse.entrySet()) {
-            Predicate predicate = eachEntry.getKey();
-            if (predicate.test(toValidate)) {
-                result.addError(this.property, eachEntry.getValue());
-            }
+        // nested validations run as separate tasks, so their blocking predicates don't delay each other
+        for (BeanValidator beanValidator : this.beanValidators) {
+            CompletableFuture<ValidationResult> nestedResult = beanValidator.validateAllAsync(value, executor, pendingLookups);
+            result = result.thenCombine(nestedResult, (validationResult, nestedValidationResult) -> {
+                if (nestedValidationResult.isValid()) {
+                    return validationResult;
+                }
+
+                ValidationResult newResult = getModifiableResult(objectPropertyPlan, validationResult);
+                newResult.addErrors(propertyName, nestedValidationResult);
+                return newResult;
+            });
+        }
+        return result;
+    }
+
+    private static ValidationResult getModifiableResult(ObjectPropertyPlan<?, ?> objectPropertyPlan, ValidationResult result) {
+        if (result.hasErrors()) {
+            return result;
         }
+        return objectPropertyPlan.getResult(null);
+    }
+
+    @Override
+    public ValidationError validateFirst(P toValidate) {
+        return this.getPlan().validateFirst(toValidate);
+    }
+
+    @Override
+    ValidationError validateFirst(P toValidate, Object[] ruleValues, int valueIndex) {
+        return this.getPlan().validateFirst(toValidate, ruleValues, valueIndex);
+    }
+
+    @Override
+    boolean hasChanged(P previousBean, P toValidate) {
+        return !Objects.equals(this.function.apply(previousBean), this.function.apply(toValidate));
+    }
 
-        for (BeanValidator beanValidator : beanValidators) {
-            result.addErrors(this.property, beanValidator.validateAll(this.function.apply((P) toValidate)));
+    @Override
+    ValidationResult validateProperty(P toValidate, String property) {
+        String propertyName = this.getPropertyName();
+        if (property.equals(propertyName)) {
+            return this.validate(toValidate);
         }
 
+        if (!ValidationResult.isSameOrNestedProperty(property, propertyName)) {
+            return null;
+        }
+
+        String nestedPrefix = propertyName + this.propertySeparator;
+        if (this.beanValidators.isEmpty() || !property.startsWith(nestedPrefix)) {
+            // paths of elements like "items[0].name" are not resolved, the whole property is validated instead
+            return this.validate(toValidate).getErrorsOf(property);
+        }
+
+        ObjectPropertyPlan<P, R> objectPropertyPlan = this.getPlan();
+        if (!objectPropertyPlan.isApplicable(toValidate)) {
+            return ValidationResult.VALID;
+        }
+
+        // only the nested validators know the nested property
+        R value = objectPropertyPlan.getValue(toValidate);
+        String nestedProperty = property.substring(nestedPrefix.length());
+        ValidationResult result = null;
+        for (BeanValidator beanValidator : this.beanValidators) {
+            ValidationResult nestedResult = beanValidator.validateProperty(value, nestedProperty);
+            if (nestedResult.hasErrors()) {
+                result = objectPropertyPlan.getResult(result);
+                result.addErrors(propertyName, nestedResult);
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
         return result;
     }
 
+    @Override
+    String getPropertyName() {
+        if (this.property != null) {
+            return this.property;
+        }
+        return PropertyExtractor.getPropertyName(this.function);
+    }
+
+    /**
+     * @return The plan of the current configuration, which validates nested beans with the current {@link BeanValidator}s.
+     */
+    private ObjectPropertyPlan<P, R> getPlan() {
+        ObjectPropertyPlan<P, R> objectPropertyPlan = this.plan;
+        if (objectPropertyPlan != null) {
+            return objectPropertyPlan;
+        }
+
+        PropertyPlan[] nestedPlans = new PropertyPlan[this.beanValidators.size()];
+        for (int i = 0; i < nestedPlans.length; i++) {
+            nestedPlans[i] = this.beanValidators.get(i).asPropertyPlan();
+        }
+
+        objectPropertyPlan = this.createPlan(nestedPlans, this.elementValidators.toArray(new ElementValidator[0]));
+        this.plan = objectPropertyPlan;
+        return objectPropertyPlan;
+    }
+
+    private ObjectPropertyPlan<P, R> createPlan(PropertyPlan[] nestedPlans, ElementValidator[] planElementValidators) {
+        return new ObjectPropertyPlan<>(
+            this.function,
+            this.getCondition(),
+            this.getPropertyName(),
+            this.propertySeparator,
+            this.validationRules,
+            this.asyncRules.toArray(new AsyncRule[this.asyncRules.size()]),
+            nestedPlans,
+            planElementValidators);
+    }
+
+    @Override
+    PropertyPlan<P> compile(String group) {
+        PropertyPlan[] nestedPlans = new PropertyPlan[this.beanValidators.size()];
+        for (int i = 0; i < nestedPlans.length; i++) {
+            nestedPlans[i] = this.beanValidators.get(i).compileNested(group);
+        }
+
+        ElementValidator[] compiledElementValidators = new ElementValidator[this.elementValidators.size()];
+        for (int i = 0; i < compiledElementValidators.length; i++) {
+            compiledElementValidators[i] = this.elementValidators.get(i).compile(group);
+        }
+
+        return this.createPlan(nestedPlans, compiledElementValidators);
+    }
+
     /**
      * Adds another {@link BeanValidator} to validate nested objects.
      *
@@ -330,6 +492,64 @@ public class PropertyValidator<P, R extends Object> {
      */
     public PropertyValidator<P, ?> withBeanValidator(BeanValidator<?> beanValidator) {
         this.beanValidators.add(beanValidator);
+        beanValidator.addParent(this);
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Adds a {@link BeanValidator} that validates every element of the property, which has to be an array or an {@link Iterable}.
+     * Errors are reported with the index of the element, e.g. <code>items[3].name</code>. <code>null</code> elements are skipped.
+     *
+     * @param beanValidator for the elements.
+     */
+    public PropertyValidator<P, R> forEach(BeanValidator<?> beanValidator) {
+        return this.forEach(beanValidator, ElementValidator.SEQUENTIAL);
+    }
+
+    /**
+     * Adds a {@link BeanValidator} that validates every element of the property, which has to be an array or an {@link Iterable}.
+     * If the property has at least <code>parallelThreshold</code> elements, the elements are validated in parallel in the common
+     * {@link java.util.concurrent.ForkJoinPool}. This requires an array or a collection with a sized spliterator (e.g.
+     * {@link ArrayList}), other collections are validated sequentially. The error paths are the same as for sequential validation.
+     *
+     * @param beanValidator     for the elements.
+     * @param parallelThreshold the minimum number of elements for parallel validation.
+     */
+    public PropertyValidator<P, R> forEach(BeanValidator<?> beanValidator, int parallelThreshold) {
+        this.elementValidators.add(
+            ElementValidator.of(ElementValidator.ElementType.ELEMENTS, parallelThreshold, (BeanValidator) beanValidator));
+        beanValidator.addParent(this);
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Adds a {@link BeanValidator} that validates every key of the property, which has to be a {@link Map}. Errors are reported
+     * with the key, e.g. <code>mappings&lt;K&gt;[key].name</code>.
+     *
+     * @param beanValidator for the keys.
+     */
+    public PropertyValidator<P, R> forEachKey(BeanValidator<?> beanValidator) {
+        this.elementValidators.add(
+            ElementValidator.of(ElementValidator.ElementType.MAP_KEYS, ElementValidator.SEQUENTIAL, (BeanValidator) beanValidator));
+        beanValidator.addParent(this);
+        this.modified();
+        return this;
+    }
+
+    /**
+     * Adds a {@link BeanValidator} that validates every value of the property, which has to be a {@link Map}. Errors are reported
+     * with the key, e.g. <code>mappings[key].name</code>. <code>null</code> values are skipped.
+     *
+     * @param beanValidator for the values.
+     */
+    public PropertyValidator<P, R> forEachValue(BeanValidator<?> beanValidator) {
+        ElementValidator elementValidator = ElementValidator
+            .of(ElementValidator.ElementType.MAP_VALUES, ElementValidator.SEQUENTIAL, (BeanValidator) beanValidator);
+        this.elementValidators.add(elementValidator);
+        beanValidator.addParent(this);
+        this.modified();
         return this;
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+/**
+ * The values of the properties read by a cross-property rule, in the order in which the rule declared them. The values are fetched
+ * once per validation and shared by all cross-property rules of a {@link BeanValidator}.
+ *
+ * @see BeanValidator#addRule(String, String, java.util.function.Predicate, com.indoqa.beanvalidation.property.PropertyFunction[])
+ */
+public final class PropertyValues {
+
+    private final Object[] values;
+    private final int[] indexes;
+
+    PropertyValues(Object[] values, int[] indexes) {
+        this.values = values;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @param index the position of the property in the declaration of the rule
+     * @return The value of the property, cast to the expected type.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(int index) {
+        return (V) this.values[this.indexes[index]];
+    }
+
+    /**
+     * @param index the position of the property in the declaration of the rule
+     * @return True if the value of the property is <code>null</code>, false otherwise.
+     */
+    public boolean isNull(int index) {
+        return this.values[this.indexes[index]] == null;
+    }
+
+    /**
+     * @return The number of properties read by the rule.
+     */
+    public int size() {
+        return this.indexes.length;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the properties and validation keys of compact {@link ValidationResult}s as <code>int</code> ids. Results sharing a
+ * table store each distinct string only once, see {@link ValidationResult#compact(SymbolTable)}.
+ * <br/>
+ * Properties are interned as {@link PropertyPath}s segment by segment: a path is a node of its segment, its separator and the
+ * id of its nested path, so the paths <code>orders[0].name</code> and <code>orders[1].name</code> share the node of
+ * <code>name</code>. A table only grows, it is released together with the last result using it. Share a table between the
+ * results of one import rather than between unrelated results, and use a table per thread to compact in parallel without
+ * contention.
+ */
+public final class SymbolTable {
+
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<PathNode, Integer> pathIds = new HashMap<>();
+    private final List<PropertyPath> paths = new ArrayList<>();
+
+    synchronized int intern(String symbol) {
+        Integer id = this.ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = this.symbols.size();
+        this.symbols.add(symbol);
+        this.ids.put(symbol, newId);
+        return newId;
+    }
+
+    synchronized String get(int id) {
+        return this.symbols.get(id);
+    }
+
+    synchronized int internPath(PropertyPath propertyPath) {
+        // segments and separators in turns, concatenated paths are interned as plain chains
+        List<String> tokens = propertyPath.getTokens();
+
+        // interned from the innermost segment, the nested path of each node is interned before the node
+        int pathId = NONE;
+        for (int i = tokens.size() - 1; i >= 0; i -= 2) {
+            String separator = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+            pathId = this.internNode(tokens.get(i), separator, pathId);
+        }
+        return pathId;
+    }
+
+    /**
+     * @return The interned path, the nested paths are shared by all paths of this table.
+     */
+    synchronized PropertyPath getPath(int id) {
+        return this.paths.get(id);
+    }
+
+    private int internNode(String segment, String separator, int nestedId) {
+        int segmentId = this.intern(segment);
+        int separatorId = nestedId == NONE ? NONE : this.intern(separator);
+
+        PathNode pathNode = new PathNode(segmentId, separatorId, nestedId);
+        Integer id = this.pathIds.get(pathNode);
+        if (id != null) {
+            return id;
+        }
+
+        PropertyPath internedPath;
+        if (nestedId == NONE) {
+            internedPath = PropertyPath.of(this.symbols.get(segmentId));
+        } else {
+            internedPath = this.paths.get(nestedId).prepend(this.symbols.get(segmentId), this.symbols.get(separatorId));
+        }
+
+        int newId = this.paths.size();
+        this.paths.add(internedPath);
+        this.pathIds.put(pathNode, newId);
+        return newId;
+    }
+
+    private static final class PathNode {
+
+        private final int segmentId;
+        private final int separatorId;
+        private final int nestedId;
+
+        PathNode(int segmentId, int separatorId, int nestedId) {
+            this.segmentId = segmentId;
+            this.separatorId = separatorId;
+            this.nestedId = nestedId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PathNode)) {
+                return false;
+            }
+
+            PathNode other = (PathNode) obj;
+            return other.segmentId == this.segmentId && other.separatorId == this.separatorId && other.nestedId == this.nestedId;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.segmentId + this.separatorId) * 31 + this.nestedId;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Functions and {@link Collector}s to validate beans in a {@link java.util.stream.Stream}. Valid beans never create a
+ * {@link ValidationResult}, so a stream can be validated lazily in a single pass with constant memory per bean.
+ * <br/>
+ * All methods take a {@link ValidationPlan}, which is immutable and can therefore be used in parallel streams.
+ *
+ * @see BeanValidator#compile()
+ */
+public final class ValidationCollectors {
+
+    private ValidationCollectors() {
+        // hide utility class constructor
+    }
+
+    /**
+     * Creates a stream stage that maps each bean to its {@link ValidationOutcome}. The validation stops at the first violation.
+     *
+     * @param validationPlan to validate the beans
+     * @return function to be used with {@link java.util.stream.Stream#map(Function)}
+     */
+    public static <T> Function<T, ValidationOutcome<T>> outcome(ValidationPlan<T> validationPlan) {
+        return bean -> new ValidationOutcome<>(bean, validationPlan.validateFirst(bean));
+    }
+
+    /**
+     * Creates a {@link Collector} that partitions the beans into valid (<code>true</code>) and invalid (<code>false</code>) beans.
+     * The validation of each bean stops at the first violation.
+     *
+     * @param validationPlan to validate the beans
+     * @return collector with the valid and invalid beans
+     */
+    public static <T> Collector<T, ?, Map<Boolean, List<T>>> partitioningByValidity(ValidationPlan<T> validationPlan) {
+        return Collectors.partitioningBy(validationPlan::isValid);
+    }
+
+    /**
+     * Creates a {@link Collector} that counts the {@link ValidationError}s of all beans by their validation key. Only the
+     * counters are kept, the {@link ValidationResult}s of invalid beans are discarded immediately.
+     *
+     * @param validationPlan to validate the beans
+     * @return collector with the number of errors per validation key
+     */
+    public static <T> Collector<T, ?, Map<String, Long>> errorCounts(ValidationPlan<T> validationPlan) {
+        return Collector.of(
+            HashMap::new,
+            (Map<String, Long> errorCounts, T bean) -> countErrors(errorCounts, validationPlan.validate(bean)),
+            ValidationCollectors::mergeErrorCounts,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    private static void countErrors(Map<String, Long> errorCounts, ValidationResult validationResult) {
+        if (validationResult.isValid()) {
+            return;
+        }
+
+        for (ValidationError validationError : validationResult.getErrorList()) {
+            errorCounts.merge(validationError.getValidationKey(), 1L, Long::sum);
+        }
+    }
+
+    private static Map<String, Long> mergeErrorCounts(Map<String, Long> errorCounts, Map<String, Long> otherErrorCounts) {
+        otherErrorCounts.forEach((validationKey, count) -> errorCounts.merge(validationKey, count, Long::sum));
+        return errorCounts;
+    }
+}
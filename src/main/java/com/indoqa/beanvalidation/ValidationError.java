@@ -20,7 +20,11 @@ package com.indoqa.beanvalidation;
 public class ValidationError {
 
     private String property;
+    // rendered to the property on the first call of getProperty()
+    private PropertyPath propertyPath;
     private String validationKey;
+    // errors of immutable results are shared by all callers, see ValidationResult#toImmutable()
+    private boolean immutable;
 
     public static ValidationError of(String property, String validationKey) {
         ValidationError result = new ValidationError();
@@ -31,17 +35,49 @@ public class ValidationError {
         return result;
     }
 
+    static ValidationError of(PropertyPath propertyPath, String validationKey) {
+        ValidationError result = new ValidationError();
+
+        result.propertyPath = propertyPath;
+        result.setValidationKey(validationKey);
+
+        return result;
+    }
+
+    /**
+     * @return An error that cannot be modified, with the rendered property.
+     */
+    static ValidationError immutableOf(String property, String validationKey) {
+        ValidationError result = of(property, validationKey);
+        result.immutable = true;
+        return result;
+    }
+
+    /**
+     * @return An error that cannot be modified, its property is rendered when it is read.
+     */
+    static ValidationError immutableOf(PropertyPath propertyPath, String validationKey) {
+        ValidationError result = of(propertyPath, validationKey);
+        result.immutable = true;
+        return result;
+    }
+
     @Override
     public String toString() {
-        return "ValidationError{" + "property='" + property + '\'' + ", validationKey='" + validationKey + '\'' + '}';
+        return "ValidationError{" + "property='" + this.getProperty() + '\'' + ", validationKey='" + validationKey + '\'' + '}';
     }
 
     public String getProperty() {
+        if (this.property == null && this.propertyPath != null) {
+            this.property = this.propertyPath.toString();
+        }
         return this.property;
     }
 
     public void setProperty(String property) {
+        this.checkModifiable();
         this.property = property;
+        this.propertyPath = null;
     }
 
     public String getValidationKey() {
@@ -49,6 +85,20 @@ public class ValidationError {
     }
 
     public void setValidationKey(String validationKey) {
+        this.checkModifiable();
         this.validationKey = validationKey;
     }
+
+    PropertyPath getPropertyPath() {
+        if (this.propertyPath == null) {
+            return PropertyPath.of(this.property);
+        }
+        return this.propertyPath;
+    }
+
+    private void checkModifiable() {
+        if (this.immutable) {
+            throw new UnsupportedOperationException("This ValidationError is immutable.");
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link java.util.concurrent.Executor}s for asynchronous validation with blocking custom predicates.
+ *
+ * @see BeanValidator#validateAllAsync(Object, java.util.concurrent.Executor)
+ */
+public final class ValidationExecutors {
+
+    /**
+     * The maximum number of platform threads used instead of virtual threads. Further tasks wait in a queue.
+     */
+    public static final int MAX_PLATFORM_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    private ValidationExecutors() {
+        // hide utility class constructor
+    }
+
+    /**
+     * @return True if the JVM supports virtual threads (Java 21+), false otherwise.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreadsHolder.VIRTUAL_THREADS_SUPPORTED;
+    }
+
+    /**
+     * Returns a shared {@link Executor} that starts a new virtual thread for each task. On JVMs without virtual threads, a
+     * shared pool of at most {@link #MAX_PLATFORM_THREADS} daemon platform threads is returned instead, so that thousands of
+     * concurrent validations with blocking predicates queue up instead of starting a platform thread each. Pass an executor to
+     * {@link BeanValidator#validateAllAsync(Object, Executor)} to use a pool sized for the blocking resource, e.g. a connection
+     * pool.
+     * <br/>
+     * The executor is looked up via reflection, so this library still runs on Java 8.
+     *
+     * @return The shared executor.
+     */
+    public static Executor virtualThreads() {
+        return VirtualThreadsHolder.EXECUTOR_SERVICE;
+    }
+
+    private static ExecutorService createPlatformThreadPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "bean-validation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+            MAX_PLATFORM_THREADS,
+            MAX_PLATFORM_THREADS,
+            IDLE_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory);
+        // idle threads are released like in a cached pool
+        threadPool.allowCoreThreadTimeOut(true);
+        return threadPool;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // no virtual threads (Java < 21 or disabled preview feature)
+            return null;
+        }
+    }
+
+    private static final class VirtualThreadsHolder {
+
+        private static final ExecutorService VIRTUAL_THREAD_EXECUTOR = createVirtualThreadExecutor();
+        private static final boolean VIRTUAL_THREADS_SUPPORTED = VIRTUAL_THREAD_EXECUTOR != null;
+        private static final ExecutorService EXECUTOR_SERVICE =
+            VIRTUAL_THREADS_SUPPORTED ? VIRTUAL_THREAD_EXECUTOR : createPlatformThreadPool();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+/**
+ * Lightweight outcome of a fail-fast validation: the validated bean and its first {@link ValidationError}, if any.
+ *
+ * @param <T> the type of the validated bean
+ * @see ValidationCollectors#outcome(ValidationPlan)
+ */
+public final class ValidationOutcome<T> {
+
+    private final T bean;
+    private final ValidationError firstError;
+
+    ValidationOutcome(T bean, ValidationError firstError) {
+        this.bean = bean;
+        this.firstError = firstError;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationOutcome{" + "bean=" + this.bean + ", firstError=" + this.firstError + '}';
+    }
+
+    public T getBean() {
+        return this.bean;
+    }
+
+    /**
+     * @return The first {@link ValidationError} or <code>null</code> if the bean is valid.
+     */
+    public ValidationError getFirstError() {
+        return this.firstError;
+    }
+
+    public boolean isValid() {
+        return this.firstError == null;
+    }
+}
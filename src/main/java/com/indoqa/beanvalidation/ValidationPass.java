@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The state of a single validation of a bean graph, kept per thread. The outermost validation starts the pass, every nested
+ * validation of a {@link BeanValidator} or {@link ValidationPlan} joins it:
+ * <ul>
+ * <li>a bean that is already being validated by the same validator (a cycle in the graph) is skipped</li>
+ * <li>beans nested deeper than the maximum depth of the outermost validator are skipped</li>
+ * <li>the result of each (bean, validator) pair is memoized by identity, so shared beans are validated only once per pass</li>
+ * </ul>
+ * A result that misses beans because of the maximum depth is only reused at the same depth, a shallower path to a shared bean
+ * validates it again. The memo is only allocated once the first nested bean is validated, flat beans don't pay for it. It keeps
+ * one identity map of beans per validator, so memoizing a valid bean doesn't allocate any objects.
+ */
+final class ValidationPass {
+
+    private static final ThreadLocal<ValidationPass> CURRENT = ThreadLocal.withInitial(ValidationPass::new);
+
+    private static final Object IN_PROGRESS = new Object();
+    private static final Object NO_RESULT = new Object();
+
+    // -1 if there is no active pass, 0 while validating the root bean
+    private int depth = -1;
+    private int maxDepth;
+
+    private Object rootBean;
+    private Object rootValidator;
+    private Mode rootMode;
+
+    // the pass that forked the tasks of a parallel element validation, its beans in progress are ancestors of this pass
+    private ValidationPass parent;
+    // set if a bean was skipped because of the maximum depth, since the innermost nested validation started
+    private boolean cutShort;
+
+    private Map<Mode, Map<Object, Map<Object, Object>>> memos;
+
+    /**
+     * Validates the bean within the current pass or starts a new pass if there is none.
+     *
+     * @param validator     identifies the validation together with the mode
+     * @param mode          the kind of validation
+     * @param maxDepth      the maximum depth of nested beans, only used if a new pass is started
+     * @param bean          the bean to validate
+     * @param validation    the validation of the bean
+     * @param skippedResult the result for skipped beans
+     */
+    static <B, R> R validate(Object validator, Mode mode, int maxDepth, B bean, Function<B, R> validation, R skippedResult) {
+        if (bean == null) {
+            return validation.apply(null);
+        }
+
+        ValidationPass pass = CURRENT.get();
+        if (pass.depth == -1) {
+            return pass.validateRoot(validator, mode, maxDepth, bean, validation);
+        }
+        return pass.validateNested(validator, mode, bean, validation, skippedResult);
+    }
+
+    /**
+     * @return The active pass of the calling thread or <code>null</code> if there is none.
+     */
+    static ValidationPass current() {
+        ValidationPass pass = CURRENT.get();
+        if (pass.depth == -1) {
+            return null;
+        }
+        return pass;
+    }
+
+    /**
+     * Runs the validation in a new pass that continues the given pass, e.g. for tasks of another thread, which may already be
+     * validating a bean of an unrelated pass. The beans in progress of the given pass are treated as ancestors, so cycles through
+     * the tasks are detected. The given pass must not change until the validation is done.
+     *
+     * @param parentPass the pass to continue or <code>null</code> to run the validation without a pass
+     */
+    static <R> R isolated(ValidationPass parentPass, Supplier<R> validation) {
+        ValidationPass outerPass = CURRENT.get();
+        ValidationPass isolatedPass = new ValidationPass();
+        if (parentPass != null) {
+            isolatedPass.depth = parentPass.depth;
+            isolatedPass.maxDepth = parentPass.maxDepth;
+            isolatedPass.parent = parentPass;
+        }
+
+        CURRENT.set(isolatedPass);
+        try {
+            return validation.get();
+        } finally {
+            CURRENT.set(outerPass);
+            if (parentPass != null && isolatedPass.cutShort) {
+                // only ever set to true, the forking thread reads it after joining all tasks
+                parentPass.cutShort = true;
+            }
+        }
+    }
+
+    private <B, R> R validateRoot(Object validator, Mode mode, int rootMaxDepth, B bean, Function<B, R> validation) {
+        this.depth = 0;
+        this.maxDepth = rootMaxDepth;
+        this.rootBean = bean;
+        this.rootValidator = validator;
+        this.rootMode = mode;
+
+        try {
+            return validation.apply(bean);
+        } finally {
+            this.depth = -1;
+            this.rootBean = null;
+            this.rootValidator = null;
+            this.rootMode = null;
+            this.cutShort = false;
+            this.memos = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <B, R> R validateNested(Object validator, Mode mode, B bean, Function<B, R> validation, R skippedResult) {
+        if (this.depth >= this.maxDepth) {
+            this.cutShort = true;
+            return skippedResult;
+        }
+
+        Map<Object, Object> validatorMemo = this.getMemo(mode, validator);
+        Object memoizedResult = validatorMemo.get(bean);
+        if (memoizedResult == IN_PROGRESS || this.isAncestor(validator, mode, bean)) {
+            return skippedResult;
+        }
+
+        int remainingDepth = this.maxDepth - this.depth;
+        if (memoizedResult instanceof CutShortResult) {
+            CutShortResult cutShortResult = (CutShortResult) memoizedResult;
+            // beans missing at this depth may be validated at a smaller depth
+            memoizedResult = cutShortResult.remainingDepth == remainingDepth ? cutShortResult.result : null;
+            if (memoizedResult != null) {
+                this.cutShort = true;
+            }
+        }
+        if (memoizedResult == NO_RESULT) {
+            return null;
+        }
+        if (memoizedResult != null) {
+            return (R) memoizedResult;
+        }
+
+        validatorMemo.put(bean, IN_PROGRESS);
+        boolean outerCutShort = this.cutShort;
+        this.cutShort = false;
+        this.depth++;
+        R result = null;
+        try {
+            result = validation.apply(bean);
+            return result;
+        } finally {
+            this.depth--;
+            Object memoized = result == null ? NO_RESULT : result;
+            if (this.cutShort) {
+                memoized = new CutShortResult(memoized, remainingDepth);
+            }
+            validatorMemo.put(bean, memoized);
+            this.cutShort |= outerCutShort;
+        }
+    }
+
+    /**
+     * @return True if the bean is the root bean or is in progress in a pass that forked this pass.
+     */
+    private boolean isAncestor(Object validator, Mode mode, Object bean) {
+        for (ValidationPass pass = this; pass != null; pass = pass.parent) {
+            if (bean == pass.rootBean && validator == pass.rootValidator && mode == pass.rootMode) {
+                return true;
+            }
+            if (pass != this && pass.getMemoizedResult(validator, mode, bean) == IN_PROGRESS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object getMemoizedResult(Object validator, Mode mode, Object bean) {
+        if (this.memos == null) {
+            return null;
+        }
+
+        Map<Object, Map<Object, Object>> modeMemo = this.memos.get(mode);
+        if (modeMemo == null) {
+            return null;
+        }
+
+        Map<Object, Object> validatorMemo = modeMemo.get(validator);
+        if (validatorMemo == null) {
+            return null;
+        }
+        return validatorMemo.get(bean);
+    }
+
+    private Map<Object, Object> getMemo(Mode mode, Object validator) {
+        if (this.memos == null) {
+            this.memos = new EnumMap<>(Mode.class);
+        }
+        return this.memos
+            .computeIfAbsent(mode, (key) -> new IdentityHashMap<>())
+            .computeIfAbsent(validator, (key) -> new IdentityHashMap<>());
+    }
+
+    enum Mode {
+        VALIDATE_ALL, VALIDATE_FIRST, VALIDATE_ASYNC
+    }
+
+    /**
+     * A result that misses beans because of the maximum depth, it is only valid at the same remaining depth.
+     */
+    private static final class CutShortResult {
+
+        private final Object result;
+        private final int remainingDepth;
+
+        CutShortResult(Object result, int remainingDepth) {
+            this.result = result;
+            this.remainingDepth = remainingDepth;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, compiled form of a {@link BeanValidator}. All property names are resolved and all validations are stored in flat
+ * arrays, so evaluating a plan is a plain indexed loop.
+ * <br/>
+ * A plan only consists of final fields and is never modified after its creation, so a single instance can be shared by all
+ * threads, provided that the custom predicates and property functions are thread-safe themselves.
+ *
+ * @param <T> the type of the bean to validate
+ * @see BeanValidator#compile()
+ */
+public final class ValidationPlan<T> implements PropertyPlan<T> {
+
+    private final PropertyPlan<T>[] propertyPlans;
+    private final int maxDepth;
+
+    // the cross-property rules among the property plans and, per property plan, the index of its value in their value vector
+    private final CrossPropertyRules<T> crossPropertyRules;
+    private final int[] ruleValueIndexes;
+
+    ValidationPlan(PropertyPlan<T>[] propertyPlans, int maxDepth) {
+        this.propertyPlans = propertyPlans;
+        this.maxDepth = maxDepth;
+
+        CrossPropertyRules<T> rules = null;
+        for (PropertyPlan<T> propertyPlan : propertyPlans) {
+            if (propertyPlan instanceof CrossPropertyRules) {
+                rules = (CrossPropertyRules<T>) propertyPlan;
+            }
+        }
+        this.crossPropertyRules = rules;
+        this.ruleValueIndexes = rules == null ? null : getRuleValueIndexes(propertyPlans, rules);
+    }
+
+    private static <T> int[] getRuleValueIndexes(PropertyPlan<T>[] propertyPlans, CrossPropertyRules<T> rules) {
+        int[] valueIndexes = new int[propertyPlans.length];
+        for (int i = 0; i < propertyPlans.length; i++) {
+            valueIndexes[i] = -1;
+            if (propertyPlans[i] instanceof ObjectPropertyPlan) {
+                valueIndexes[i] = rules.indexOf(((ObjectPropertyPlan<T, ?>) propertyPlans[i]).getProperty());
+            }
+        }
+        return valueIndexes;
+    }
+
+    /**
+     * Evaluates all compiled validation rules against the &lt;T&gt; bean.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return ValidationResult as container for validation errors.
+     */
+    @Override
+    public ValidationResult validate(T toValidate) {
+        return ValidationPass.validate(
+            this,
+            ValidationPass.Mode.VALIDATE_ALL,
+            this.maxDepth,
+            toValidate,
+            this::validateAllProperties,
+            ValidationResult.VALID);
+    }
+
+    private ValidationResult validateAllProperties(T toValidate) {
+        // the values of the properties validated by the plans are passed to the cross-property rules reading them
+        Object[] ruleValues = this.crossPropertyRules == null ? null : this.crossPropertyRules.newValues();
+
+        ValidationResult result = null;
+        for (int i = 0; i < this.propertyPlans.length; i++) {
+            PropertyPlan<T> propertyPlan = this.propertyPlans[i];
+            int valueIndex = this.getRuleValueIndex(i);
+            ValidationResult validationResult;
+            if (propertyPlan == this.crossPropertyRules) {
+                validationResult = this.crossPropertyRules.validate(toValidate, ruleValues, null);
+            } else if (valueIndex != -1) {
+                validationResult = ((ObjectPropertyPlan<T, ?>) propertyPlan).validate(toValidate, ruleValues, valueIndex);
+            } else {
+                validationResult = propertyPlan.validate(toValidate);
+            }
+
+            if (validationResult.hasErrors()) {
+                if (result == null) {
+                    result = new ValidationResult();
+                }
+                result.addErrors(validationResult);
+            }
+        }
+
+        if (result == null) {
+            return ValidationResult.VALID;
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;T&gt; bean and stops at the first violation. No {@link ValidationResult} is
+     * created.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return True if all validation rules are satisfied, false otherwise.
+     */
+    public boolean isValid(T toValidate) {
+        return this.validateFirst(toValidate) == null;
+    }
+
+    /**
+     * @return A {@link Predicate} that tests beans with {@link #isValid(Object)}.
+     */
+    public Predicate<T> asPredicate() {
+        return this::isValid;
+    }
+
+    /**
+     * Evaluates the validation rules against the &lt;T&gt; bean and stops at the first violation.
+     *
+     * @param toValidate the &lt;T&gt; bean to validate
+     * @return The first {@link ValidationError} or <code>null</code> if all validation rules are satisfied.
+     */
+    @Override
+    public ValidationError validateFirst(T toValidate) {
+        return ValidationPass.validate(
+            this,
+            ValidationPass.Mode.VALIDATE_FIRST,
+            this.maxDepth,
+            toValidate,
+            this::validateFirstProperty,
+            null);
+    }
+
+    private ValidationError validateFirstProperty(T toValidate) {
+        Object[] ruleValues = this.crossPropertyRules == null ? null : this.crossPropertyRules.newValues();
+
+        for (int i = 0; i < this.propertyPlans.length; i++) {
+            PropertyPlan<T> propertyPlan = this.propertyPlans[i];
+            int valueIndex = this.getRuleValueIndex(i);
+            ValidationError validationError;
+            if (propertyPlan == this.crossPropertyRules) {
+                validationError = this.crossPropertyRules.validateFirst(toValidate, ruleValues);
+            } else if (valueIndex != -1) {
+                validationError = ((ObjectPropertyPlan<T, ?>) propertyPlan).validateFirst(toValidate, ruleValues, valueIndex);
+            } else {
+                validationError = propertyPlan.validateFirst(toValidate);
+            }
+
+            if (validationError != null) {
+                return validationError;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates all compiled validation rules against each bean of the batch. Valid beans share {@link ValidationResult#VALID}, so
+     * only invalid beans allocate a result.
+     *
+     * @param toValidate the &lt;T&gt; beans to validate
+     * @return BatchValidationResult with the results of the invalid beans, indexed by their position in the batch.
+     */
+    public BatchValidationResult validateBatch(List<? extends T> toValidate) {
+        return this.validateBatch(toValidate, false);
+    }
+
+    /**
+     * Evaluates all compiled validation rules against each bean of the batch, optionally in parallel in the common
+     * {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param toValidate the &lt;T&gt; beans to validate
+     * @param parallel   true to validate the beans in parallel
+     * @return BatchValidationResult with the results of the invalid beans, indexed by their position in the batch.
+     */
+    @SuppressWarnings("unchecked")
+    public BatchValidationResult validateBatch(List<? extends T> toValidate, boolean parallel) {
+        ValidationResult[] results = new ValidationResult[toValidate.size()];
+
+        if (parallel) {
+            // copied first, get(i) of lists without random access would traverse the list for each bean
+            Object[] beans = toValidate.toArray();
+            // a worker thread may run a task while it is validating a bean of another pass
+            IntStream.range(0, results.length).parallel().forEach(
+                i -> results[i] = ValidationPass.isolated(null, () -> this.validate((T) beans[i])));
+        } else {
+            int index = 0;
+            for (T bean : toValidate) {
+                results[index++] = this.validate(bean);
+            }
+        }
+
+        return BatchValidationResult.of(results);
+    }
+
+    /**
+     * Creates an {@link IterativeValidationPlan} that evaluates this plan and all nested plans with an explicit work stack instead
+     * of recursion, for deeply nested bean graphs.
+     *
+     * @return a new {@link IterativeValidationPlan}
+     */
+    public IterativeValidationPlan<T> iterative() {
+        return new IterativeValidationPlan<>(this);
+    }
+
+    private int getRuleValueIndex(int propertyPlanIndex) {
+        if (this.ruleValueIndexes == null) {
+            return -1;
+        }
+        return this.ruleValueIndexes[propertyPlanIndex];
+    }
+
+    PropertyPlan<T>[] getPropertyPlans() {
+        return this.propertyPlans;
+    }
+
+    int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Creates an {@link AdaptiveValidationPlan} for fail-fast validation, that reorders the properties of this plan at runtime
+     * so that the properties that reject beans most efficiently are checked first.
+     *
+     * @return a new {@link AdaptiveValidationPlan} with its own runtime statistics
+     */
+    public AdaptiveValidationPlan<T> adaptive() {
+        return new AdaptiveValidationPlan<>(this, this.propertyPlans);
+    }
+}
@@ -18,6 +18,8 @@
 package com.indoqa.beanvalidation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,18 +29,52 @@ import java.util.Map;
  */
 public class ValidationResult {
 
-    private Map<String, List<ValidationError>> errors = new HashMap<>();
+    /**
+     * Shared, immutable result without any errors. Validators return this instance if a bean is valid.
+     */
+    public static final ValidationResult VALID = new ValidationResult(true);
+
+    private final boolean immutable;
+
+    // created on the first error, valid results never allocate their error storage
+    private List<ValidationError> errors;
+    // built by getErrors(), a modifiable result keeps its errors only in this map from then on
+    // immutable results cache their map view here, compact results build it on the first call
+    private volatile Map<String, List<ValidationError>> errorsByProperty;
+    // compact results keep their errors as interned ids instead of ValidationError objects, the arrays are never changed
+    // and may be shared by a modifiable result that merged a compact result
+    private SymbolTable symbols;
+    private int[] propertyIds;
+    private int[] validationKeyIds;
     private String propertySeparator = ".";
 
+    public ValidationResult() {
+        this(false);
+    }
+
+    private ValidationResult(boolean immutable) {
+        this.immutable = immutable;
+    }
+
     /**
      * Adds the {@link ValidationError} to this container.
      *
      * @param validationError
      */
     public void addError(ValidationError validationError) {
-        List<ValidationError> validationErrors = this.errors.getOrDefault(validationError.getProperty(), new ArrayList<>());
-        validationErrors.add(validationError);
-        this.errors.put(validationError.getProperty(), validationErrors);
+        this.checkModifiable();
+        this.decompact();
+
+        if (this.errorsByProperty != null) {
+            String property = validationError.getProperty();
+            this.errorsByProperty.computeIfAbsent(property, (errorProperty) -> new ArrayList<>()).add(validationError);
+            return;
+        }
+
+        if (this.errors == null) {
+            this.errors = new ArrayList<>();
+        }
+        this.errors.add(validationError);
     }
 
     /**
@@ -57,43 +93,61 @@ public class ValidationResult {
      * @param validationResult to add
      */
     public void addErrors(ValidationResult validationResult) {
-        validationResult.getErrors().forEach((property, value) -> {
-            this.addErrors(property, value);
-        });
+        if (validationResult.isValid()) {
+            return;
+        }
+
+        this.checkModifiable();
+        boolean onlyCompactErrors = this.errorsByProperty == null && (this.errors == null || this.errors.isEmpty());
+        if (validationResult.propertyIds != null && onlyCompactErrors) {
+            if (this.propertyIds == null) {
+                this.errors = null;
+                this.symbols = validationResult.symbols;
+                this.propertyIds = validationResult.propertyIds;
+                this.validationKeyIds = validationResult.validationKeyIds;
+                return;
+            }
+
+            if (this.symbols == validationResult.symbols) {
+                this.propertyIds = concat(this.propertyIds, validationResult.propertyIds);
+                this.validationKeyIds = concat(this.validationKeyIds, validationResult.validationKeyIds);
+                return;
+            }
+        }
+
+        for (ValidationError error : validationResult.errorList()) {
+            if (validationResult.immutable) {
+                // the errors of immutable results are shared, this result gets errors it may modify
+                this.addError(ValidationError.of(error.getPropertyPath(), error.getValidationKey()));
+            } else {
+                this.addError(error);
+            }
+        }
     }
 
     /**
-     * Adds all the validation errors in the {@link ValidationResult} as nested property to this result.
+     * Adds all the validation errors in the {@link ValidationResult} as nested property to this result. The paths of the nested
+     * errors are not copied, they are rendered when {@link ValidationError#getProperty()} is called.
      *
      * @param property         as parent property for the nested properties
      * @param validationResult to add
      */
     public void addErrors(String property, ValidationResult validationResult) {
-        validationResult.getErrors().forEach((nestedProperty, value) -> {
-            String newProperty = prependProperty(property, nestedProperty);
-            value.forEach((error) -> {
-                error.setProperty(newProperty);
-                error.setValidationKey(error.getValidationKey());
-            });
-            this.addErrors(newProperty, value);
-        });
-    }
-
-    private String prependProperty(String property, String nestedProperty) {
-        return property + this.propertySeparator + nestedProperty;
-    }
+        if (validationResult.isValid()) {
+            return;
+        }
 
-    private void addErrors(String property, List<ValidationError> errors) {
-        this.errors.merge(property, errors, (originalErrors, newErrors) -> {
-            originalErrors.addAll(newErrors);
-            return originalErrors;
-        });
+        for (ValidationError error : validationResult.errorList()) {
+            PropertyPath propertyPath = error.getPropertyPath().prepend(property, this.propertySeparator);
+            this.addError(ValidationError.of(propertyPath, error.getValidationKey()));
+        }
     }
 
     /**
      * Sets the property separator for nested properties in valiationKeys
      */
     public void setPropertySeparator(String propertySeparator) {
+        this.checkModifiable();
         this.propertySeparator = propertySeparator;
     }
 
@@ -101,14 +155,44 @@ public class ValidationResult {
      * @return True if there were no errors, false otherwise.
      */
     public boolean isValid() {
-        return this.errors.isEmpty();
+        if (this.propertyIds != null) {
+            return false;
+        }
+
+        if (this.errors != null) {
+            return this.errors.isEmpty();
+        }
+
+        return this.errorsByProperty == null || this.errorsByProperty.isEmpty();
     }
 
     /**
      * @return Get all the errors for this validationResult, as Map with properties as validationKeys and their validtionErrors.
+     *         The map of a modifiable result is live, changes of the map are changes of this result. Immutable results, e.g.
+     *         {@link #VALID} or a {@link #compact()} result, return an unmodifiable map.
      */
     public Map<String, List<ValidationError>> getErrors() {
-        return errors;
+        if (this.immutable) {
+            if (this.isValid()) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, List<ValidationError>> groupedErrors = this.errorsByProperty;
+            if (groupedErrors == null) {
+                // an immutable result never changes, so the map view of a compact result is built only once
+                groupedErrors = unmodifiable(this.groupByProperty());
+                this.errorsByProperty = groupedErrors;
+            }
+            return groupedErrors;
+        }
+
+        this.decompact();
+        if (this.errorsByProperty == null) {
+            // the paths are rendered once, from now on the map holds the errors
+            this.errorsByProperty = this.groupByProperty();
+            this.errors = null;
+        }
+        return this.errorsByProperty;
     }
 
     /**
@@ -116,7 +200,7 @@ public class ValidationResult {
      * @return Get all validationErrors as List for the given property.
      */
     public List<ValidationError> getErrors(String property) {
-        return this.errors.get(property);
+        return this.getErrors().get(property);
     }
 
     /**
@@ -126,4 +210,212 @@ public class ValidationResult {
         return !this.isValid();
     }
 
+    /**
+     * @return All errors in the order they were added, without rendering their properties.
+     */
+    List<ValidationError> getErrorList() {
+        return Collections.unmodifiableList(this.errorList());
+    }
+
+    /**
+     * Creates an immutable copy of this result, that stores its errors as parallel arrays of interned property and validation
+     * key ids instead of {@link ValidationError} objects. The {@link ValidationError}s are created again when the errors of the
+     * copy are read. To hold many results, e.g. of bulk imports, compact them with a shared table, see
+     * {@link #compact(SymbolTable)}.
+     *
+     * @return the compact copy of this result
+     */
+    public ValidationResult compact() {
+        return this.compact(new SymbolTable());
+    }
+
+    /**
+     * Creates a compact copy of this result, interning its properties and validation keys in the given table. Results sharing a
+     * table store each distinct property segment and validation key only once, so their errors only take two <code>int</code>s
+     * each.
+     * <br/>
+     * Adding a compact result to an empty result shares its arrays, adding it to a result holding only compact errors of the
+     * same table merges the arrays, without creating {@link ValidationError}s.
+     *
+     * @param symbolTable the table owned by the caller, e.g. one table per import
+     * @return the compact copy of this result
+     */
+    public ValidationResult compact(SymbolTable symbolTable) {
+        if (this.isValid()) {
+            return VALID;
+        }
+
+        if (this.symbols == symbolTable && this.immutable) {
+            return this;
+        }
+
+        int[] compactPropertyIds = this.propertyIds;
+        int[] compactValidationKeyIds = this.validationKeyIds;
+        if (this.symbols != symbolTable) {
+            List<ValidationError> errorList = this.errorList();
+            compactPropertyIds = new int[errorList.size()];
+            compactValidationKeyIds = new int[errorList.size()];
+            for (int i = 0; i < compactPropertyIds.length; i++) {
+                ValidationError error = errorList.get(i);
+                compactPropertyIds[i] = symbolTable.internPath(error.getPropertyPath());
+                compactValidationKeyIds[i] = symbolTable.intern(error.getValidationKey());
+            }
+        }
+
+        ValidationResult result = new ValidationResult(true);
+        result.symbols = symbolTable;
+        result.propertyIds = compactPropertyIds;
+        result.validationKeyIds = compactValidationKeyIds;
+        result.propertySeparator = this.propertySeparator;
+        return result;
+    }
+
+    /**
+     * Removes all errors of the property and of its nested properties and elements.
+     */
+    void removeErrors(String property) {
+        if (this.isValid()) {
+            return;
+        }
+
+        this.checkModifiable();
+        this.decompact();
+
+        if (this.errorsByProperty != null) {
+            this.errorsByProperty.keySet().removeIf((errorProperty) -> isSameOrNestedProperty(errorProperty, property));
+        } else if (this.errors != null) {
+            this.errors.removeIf((error) -> isSameOrNestedProperty(error.getProperty(), property));
+        }
+    }
+
+    /**
+     * @return A new result with the errors of the property and of its nested properties and elements.
+     */
+    ValidationResult getErrorsOf(String property) {
+        ValidationResult result = null;
+        for (ValidationError error : this.errorList()) {
+            if (isSameOrNestedProperty(error.getProperty(), property)) {
+                if (result == null) {
+                    result = new ValidationResult();
+                    result.propertySeparator = this.propertySeparator;
+                }
+                result.addError(error);
+            }
+        }
+
+        if (result == null) {
+            return VALID;
+        }
+        return result;
+    }
+
+    static boolean isSameOrNestedProperty(String property, String parentProperty) {
+        if (!property.startsWith(parentProperty)) {
+            return false;
+        }
+
+        // "address" contains "address.street" and "address[0]", but not "addressLine"
+        return property.length() == parentProperty.length()
+            || !Character.isJavaIdentifierPart(property.charAt(parentProperty.length()));
+    }
+
+    boolean isModifiable() {
+        return !this.immutable;
+    }
+
+    /**
+     * Creates an immutable copy of this result, that can be shared, e.g. by a cache. Its errors are immutable as well.
+     */
+    ValidationResult toImmutable() {
+        if (this.isValid()) {
+            return VALID;
+        }
+
+        if (this.immutable) {
+            return this;
+        }
+
+        if (this.propertyIds != null) {
+            return this.compact(this.symbols);
+        }
+
+        List<ValidationError> errorList = this.errorList();
+        List<ValidationError> copiedErrors = new ArrayList<>(errorList.size());
+        errorList.forEach((error) -> copiedErrors.add(ValidationError.immutableOf(error.getProperty(), error.getValidationKey())));
+
+        ValidationResult result = new ValidationResult(true);
+        result.errors = copiedErrors;
+        // built eagerly, an immutable result may be shared by several threads
+        result.errorsByProperty = unmodifiable(result.groupByProperty());
+        result.propertySeparator = this.propertySeparator;
+        return result;
+    }
+
+    private static int[] concat(int[] ids, int[] additionalIds) {
+        int[] result = Arrays.copyOf(ids, ids.length + additionalIds.length);
+        System.arraycopy(additionalIds, 0, result, ids.length, additionalIds.length);
+        return result;
+    }
+
+    private static Map<String, List<ValidationError>> unmodifiable(Map<String, List<ValidationError>> groupedErrors) {
+        groupedErrors.replaceAll((property, propertyErrors) -> Collections.unmodifiableList(propertyErrors));
+        return Collections.unmodifiableMap(groupedErrors);
+    }
+
+    private Map<String, List<ValidationError>> groupByProperty() {
+        Map<String, List<ValidationError>> groupedErrors = new HashMap<>();
+        for (ValidationError error : this.errorList()) {
+            groupedErrors.computeIfAbsent(error.getProperty(), (property) -> new ArrayList<>()).add(error);
+        }
+        return groupedErrors;
+    }
+
+    private List<ValidationError> errorList() {
+        if (this.propertyIds != null) {
+            List<ValidationError> compactErrors = new ArrayList<>(this.propertyIds.length);
+            for (int i = 0; i < this.propertyIds.length; i++) {
+                PropertyPath propertyPath = this.symbols.getPath(this.propertyIds[i]);
+                String validationKey = this.symbols.get(this.validationKeyIds[i]);
+                if (this.immutable) {
+                    compactErrors.add(ValidationError.immutableOf(propertyPath, validationKey));
+                } else {
+                    compactErrors.add(ValidationError.of(propertyPath, validationKey));
+                }
+            }
+            return compactErrors;
+        }
+
+        if (this.errors != null) {
+            return this.errors;
+        }
+
+        if (this.errorsByProperty != null) {
+            List<ValidationError> groupedErrors = new ArrayList<>();
+            this.errorsByProperty.values().forEach(groupedErrors::addAll);
+            return groupedErrors;
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Replaces the merged compact errors of a modifiable result by {@link ValidationError}s before it is changed.
+     */
+    private void decompact() {
+        if (this.propertyIds == null) {
+            return;
+        }
+
+        this.errors = this.errorList();
+        this.symbols = null;
+        this.propertyIds = null;
+        this.validationKeyIds = null;
+    }
+
+    private void checkModifiable() {
+        if (this.immutable) {
+            throw new UnsupportedOperationException("This ValidationResult is immutable.");
+        }
+    }
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * An immutable, ordered list of the validation rules of a property. The rules are kept in parallel arrays sorted by their cost,
+ * so cheap rules are evaluated before expensive ones. Rules with the same cost keep the order in which they were added.
+ * <br/>
+ * Adding a rule returns a new instance, so a compiled {@link ObjectPropertyPlan} can share the rules of its
+ * {@link PropertyValidator} without copying them.
+ */
+final class ValidationRules {
+
+    static final ValidationRules EMPTY = new ValidationRules(
+        new Predicate[0],
+        new BuiltInValidation[0],
+        new String[0],
+        new boolean[0],
+        new int[0]);
+
+    private final Predicate<Object>[] validations;
+    private final BuiltInValidation[] builtInValidations;
+    private final String[] validationKeys;
+    private final boolean[] expectedResults;
+    private final int[] costs;
+
+    private ValidationRules(Predicate<Object>[] validations, BuiltInValidation[] builtInValidations, String[] validationKeys,
+        boolean[] expectedResults, int[] costs) {
+        this.validations = validations;
+        this.builtInValidations = builtInValidations;
+        this.validationKeys = validationKeys;
+        this.expectedResults = expectedResults;
+        this.costs = costs;
+    }
+
+    private static <E> E[] insert(E[] array, int index, E element) {
+        E[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        result[index] = element;
+        return result;
+    }
+
+    private static boolean[] insert(boolean[] array, int index, boolean element) {
+        boolean[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        result[index] = element;
+        return result;
+    }
+
+    private static int[] insert(int[] array, int index, int element) {
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        result[index] = element;
+        return result;
+    }
+
+    /**
+     * @return a copy of these rules with the given rule inserted after all rules with the same or a lower cost.
+     */
+    ValidationRules add(String validationKey, Predicate<Object> validation, boolean expectedResult, int cost) {
+        int index = 0;
+        while (index < this.costs.length && this.costs[index] <= cost) {
+            index++;
+        }
+
+        BuiltInValidation builtInValidation = null;
+        if (validation instanceof BuiltInValidation) {
+            builtInValidation = (BuiltInValidation) validation;
+        }
+
+        return new ValidationRules(
+            insert(this.validations, index, validation),
+            insert(this.builtInValidations, index, builtInValidation),
+            insert(this.validationKeys, index, validationKey),
+            insert(this.expectedResults, index, expectedResult),
+            insert(this.costs, index, cost));
+    }
+
+    /**
+     * Evaluates the rules starting at <code>fromIndex</code> against the value of a property.
+     *
+     * @return the index of the next violated rule or <code>-1</code> if all remaining rules are satisfied.
+     */
+    int indexOfViolation(Object value, int fromIndex) {
+        for (int i = fromIndex; i < this.validations.length; i++) {
+            if (this.test(i, value) != this.expectedResults[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String getValidationKey(int index) {
+        return this.validationKeys[index];
+    }
+
+    private boolean test(int index, Object value) {
+        BuiltInValidation builtInValidation = this.builtInValidations[index];
+        if (builtInValidation != null) {
+            return BuiltInValidation.evaluate(builtInValidation, value);
+        }
+        return this.validations[index].test(value);
+    }
+}
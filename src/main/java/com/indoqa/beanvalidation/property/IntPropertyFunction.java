@@ -0,0 +1,30 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.property;
+
+import java.io.Serializable;
+import java.util.function.ToIntFunction;
+
+/**
+ * Marker interface for name extraction with the {@link PropertyExtractor} for methods returning a primitive <code>int</code>.
+ *
+ * @param <P> the type of the property (method)
+ */
+public interface IntPropertyFunction<P> extends ToIntFunction<P>, Serializable {
+    // marker for property extraction
+}
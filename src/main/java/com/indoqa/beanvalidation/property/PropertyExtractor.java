@@ -17,6 +17,7 @@
 package com.indoqa.beanvalidation.property;
 
 import java.beans.Introspector;
+import java.io.Serializable;
 import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Method;
 
@@ -24,6 +25,7 @@ import java.lang.reflect.Method;
  * Utility class for extracting the name of a property for a
  * <a href="https://docs.oracle.com/javase/tutorial/java/javaOO/methodreferences.html">method reference</a>.
  * <br />Internally it uses a {@link SerializedLambda} to get the method name via {@link SerializedLambda#getImplMethodName()}.
+ * <br />The extracted names are cached per lambda class, so the reflective lookup only happens once per method reference.
  */
 public final class PropertyExtractor {
 
@@ -33,11 +35,57 @@ public final class PropertyExtractor {
     private static final String HAS_PREFIX = "has";
     private static final String GET_PREFIX = "get";
 
+    private static final ClassValue<PropertyNameHolder> PROPERTY_NAMES = new ClassValue<PropertyNameHolder>() {
+
+        @Override
+        protected PropertyNameHolder computeValue(Class<?> type) {
+            return new PropertyNameHolder();
+        }
+    };
+
     private PropertyExtractor() {
         // hide utility class constructor
     }
 
     public static String getPropertyName(PropertyFunction<?, ?> propertyFunction) {
+        return getPropertyName((Serializable) propertyFunction);
+    }
+
+    /**
+     * Extracts the name of the property for a serializable method reference, e.g. an {@link IntPropertyFunction}.
+     *
+     * @param propertyFunction the method reference
+     * @return the name of the property
+     */
+    public static String getPropertyName(Serializable propertyFunction) {
+        PropertyNameHolder propertyNameHolder = PROPERTY_NAMES.get(propertyFunction.getClass());
+
+        String propertyName = propertyNameHolder.propertyName;
+        if (propertyName != null) {
+            return propertyName;
+        }
+
+        propertyName = extractImplMethodPropertyName(propertyFunction);
+        if (propertyName == null) {
+            return propertyFunction.toString();
+        }
+
+        propertyNameHolder.propertyName = propertyName;
+        return propertyName;
+    }
+
+    /**
+     * Resolves and caches the property names of the given functions, e.g. at application startup.
+     *
+     * @param propertyFunctions the method references to resolve
+     */
+    public static void preResolve(Serializable... propertyFunctions) {
+        for (Serializable propertyFunction : propertyFunctions) {
+            getPropertyName(propertyFunction);
+        }
+    }
+
+    private static String extractImplMethodPropertyName(Serializable propertyFunction) {
         try {
             Class<?> propertyFunctionClass = propertyFunction.getClass();
             Method method = propertyFunctionClass.getDeclaredMethod(METHOD_WRITE_REPLACE);
@@ -50,7 +98,7 @@ public final class PropertyExtractor {
         } catch (Exception e) {
             throw new IllegalArgumentException("Error extracting property name for function.", e);
         }
-        return propertyFunction.toString();
+        return null;
     }
 
     private static String extractPropertyName(String methodName) {
@@ -73,4 +121,10 @@ public final class PropertyExtractor {
 
         return Introspector.decapitalize(propertyName);
     }
+
+    private static final class PropertyNameHolder {
+
+        // all instances of a lambda class share the same implementation method
+        private volatile String propertyName;
+    }
 }
@@ -31,6 +31,9 @@ public class SimpleBean {
     private int[] ints;
 
     private SimpleProperty property;
+    private List<SimpleProperty> properties;
+    private SimpleProperty[] propertyArray;
+    private Map<String, SimpleProperty> propertyMap;
 
     private NestedSimpleProperty nested;
 
@@ -105,4 +108,28 @@ public class SimpleBean {
     public void setInts(int[] ints) {
         this.ints = ints;
     }
+
+    public List<SimpleProperty> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(List<SimpleProperty> properties) {
+        this.properties = properties;
+    }
+
+    public SimpleProperty[] getPropertyArray() {
+        return propertyArray;
+    }
+
+    public void setPropertyArray(SimpleProperty[] propertyArray) {
+        this.propertyArray = propertyArray;
+    }
+
+    public Map<String, SimpleProperty> getPropertyMap() {
+        return propertyMap;
+    }
+
+    public void setPropertyMap(Map<String, SimpleProperty> propertyMap) {
+        this.propertyMap = propertyMap;
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.async;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class AsyncValidatorTest extends AbstractValidatorTest {
+
+    private static final Set<String> EXISTING_IDS = new HashSet<>(Arrays.asList("a", "b", "c"));
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private static SimpleBean createSimpleBean(String id) {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId(id);
+        return simpleBean;
+    }
+
+    private static boolean awaitOthers(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @After
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    private CompletableFuture<Boolean> exists(String id) {
+        this.lookups.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> EXISTING_IDS.contains(id), this.executorService);
+    }
+
+    private CompletableFuture<Map<String, Boolean>> existAll(Set<String> ids) {
+        this.lookups.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, Boolean> result = new HashMap<>();
+            ids.forEach(id -> result.put(id, EXISTING_IDS.contains(id)));
+            return result;
+        }, this.executorService);
+    }
+
+    @Test
+    public void testValidateAllAsync() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotEmpty().isTrueAsync("exists", this::exists))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue());
+
+        ValidationResult simpleResult = beanValidator.validateAllAsync(createSimpleBean("a"), this.executorService).join();
+        assertSingleValidationError(simpleResult, "simple", "is_true");
+
+        ValidationResult result = beanValidator.validateAllAsync(createSimpleBean("x"), this.executorService).join();
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "id", "exists");
+        assertSingleValidationError(result, "simple", "is_true");
+
+        assertSingleValidationError(beanValidator.validateAll(createSimpleBean("x")), "id", "exists");
+        assertSingleValidationError(beanValidator.compile().validate(createSimpleBean("x")), "id", "exists");
+        assertEquals("id", beanValidator.validateFirst(createSimpleBean(null)).getProperty());
+    }
+
+    @Test
+    public void testBulkLookup() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(
+                PropertyValidator.forMethod(SimpleBean::getId).isTrueAsync("exists", BulkLookup.of(this::existAll)));
+
+        List<SimpleBean> batch = new ArrayList<>();
+        for (String id : new String[] {"a", "x", "b", "y", "a", null}) {
+            batch.add(createSimpleBean(id));
+        }
+
+        BatchValidationResult result = beanValidator.validateBatchAsync(batch, this.executorService).join();
+        assertEquals(1, this.lookups.get());
+        assertArrayEquals(new int[] {1, 3, 5}, result.getInvalidIndexes());
+        assertSingleValidationError(result.getResult(1), "id", "exists");
+
+        assertResultIsValid(beanValidator.validateAll(createSimpleBean("c")));
+        assertEquals(2, this.lookups.get());
+    }
+
+    @Test
+    public void testBlockingPredicatesRunConcurrently() {
+        CountDownLatch latch = new CountDownLatch(2);
+
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(
+                PropertyValidator.forMethod(SimpleProperty::getItems).isTrue("available", value -> awaitOthers(latch)));
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isTrue("available", value -> awaitOthers(latch)))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperty).withBeanValidator(simplePropertyValidator));
+
+        SimpleBean simpleBean = createSimpleBean("a");
+        SimpleProperty simpleProperty = new SimpleProperty();
+        simpleProperty.setItems(1);
+        simpleBean.setProperty(simpleProperty);
+
+        assertResultIsValid(beanValidator.validateAllAsync(simpleBean).join());
+    }
+
+    @Test
+    public void testPlatformThreadsAreBounded() throws InterruptedException {
+        Assume.assumeFalse(ValidationExecutors.isVirtualThreadsSupported());
+
+        int taskCount = ValidationExecutors.MAX_PLATFORM_THREADS * 2;
+        Set<Thread> threads = Collections.newSetFromMap(new IdentityHashMap<>());
+        CountDownLatch finished = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            ValidationExecutors.virtualThreads().execute(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                sleep(10);
+                finished.countDown();
+            });
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertTrue(threads.size() <= ValidationExecutors.MAX_PLATFORM_THREADS);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.collections;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class ElementValidatorTest extends AbstractValidatorTest {
+
+    private static SimpleProperty createSimpleProperty(Integer items) {
+        SimpleProperty simpleProperty = new SimpleProperty();
+        simpleProperty.setItems(items);
+        return simpleProperty;
+    }
+
+    @Test
+    public void testForEachList() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setProperties(
+            Arrays.asList(createSimpleProperty(1), createSimpleProperty(null), null, createSimpleProperty(null)));
+
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperties).forEach(simplePropertyValidator));
+
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(simpleBean),
+            beanValidator.compile().validate(simpleBean)}) {
+            assertResultIsInvalid(result);
+            assertEquals(2, result.getErrors().size());
+            assertSingleValidationError(result, "properties[1].items", "is_not_null");
+            assertSingleValidationError(result, "properties[3].items", "is_not_null");
+        }
+
+        assertEquals("properties[1].items", beanValidator.validateFirst(simpleBean).getProperty());
+        assertEquals("properties[1].items", beanValidator.compile().validateFirst(simpleBean).getProperty());
+    }
+
+    @Test
+    public void testForEachParallel() {
+        List<SimpleProperty> properties = new ArrayList<>();
+        SimpleProperty[] propertyArray = new SimpleProperty[10_000];
+        for (int i = 0; i < propertyArray.length; i++) {
+            SimpleProperty simpleProperty = createSimpleProperty(i % 1000 == 999 ? null : i);
+            properties.add(simpleProperty);
+            propertyArray[i] = simpleProperty;
+        }
+
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setProperties(properties);
+        simpleBean.setPropertyArray(propertyArray);
+
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperties).forEach(simplePropertyValidator, 1000))
+            .addPropertyValidator(
+                PropertyValidator.forMethod(SimpleBean::getPropertyArray).forEach(simplePropertyValidator, 1000));
+
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(simpleBean),
+            beanValidator.compile().validate(simpleBean)}) {
+            assertResultIsInvalid(result);
+            assertEquals(20, result.getErrors().size());
+            for (int i = 999; i < propertyArray.length; i += 1000) {
+                assertSingleValidationError(result, "properties[" + i + "].items", "is_not_null");
+                assertSingleValidationError(result, "propertyArray[" + i + "].items", "is_not_null");
+            }
+        }
+
+        assertEquals("properties[999].items", beanValidator.validateFirst(simpleBean).getProperty());
+    }
+
+    @Test
+    public void testForEachIterable() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setProperties(new LinkedList<>(Arrays.asList(createSimpleProperty(1), createSimpleProperty(null))));
+        simpleBean.setPropertyArray(new SimpleProperty[] {createSimpleProperty(null)});
+
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+
+        ValidationResult result = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperties).forEach(simplePropertyValidator))
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getPropertyArray)
+                .propertySeparator("/")
+                .forEach(simplePropertyValidator))
+            .validateAll(simpleBean);
+
+        assertSingleValidationError(result, "properties[1].items", "is_not_null");
+        assertSingleValidationError(result, "propertyArray[0]/items", "is_not_null");
+    }
+
+    @Test
+    public void testForEachMap() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setPropertyMap(Collections.singletonMap("first", createSimpleProperty(null)));
+        simpleBean.setMappings(Collections.singletonMap("", "value"));
+
+        BeanValidator<String> stringValidator = BeanValidator
+            .forClass(String.class)
+            .addPropertyValidator(PropertyValidator.forLambda(String.class, (value) -> value, "value").isNotEmpty());
+
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getPropertyMap)
+                .forEachValue(simplePropertyValidator))
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getMappings)
+                .forEachKey(stringValidator)
+                .forEachValue(stringValidator));
+
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(simpleBean),
+            beanValidator.compile().validate(simpleBean)}) {
+            assertEquals(2, result.getErrors().size());
+            assertSingleValidationError(result, "propertyMap[first].items", "is_not_null");
+            assertSingleValidationError(result, "mappings<K>[].value", "is_not_empty");
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEachUnsupported() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("value");
+
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+
+        PropertyValidator.forMethod(SimpleBean::getId).forEach(simplePropertyValidator).validate(simpleBean);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.nested;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class CyclicGraphTest extends AbstractValidatorTest {
+
+    @Test
+    public void testCycle() {
+        Node first = new Node("first");
+        Node second = new Node(" ");
+        first.next = second;
+        second.next = first;
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator));
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(first),
+            beanValidator.compile().validate(first)}) {
+            assertEquals(1, result.getErrors().size());
+            assertSingleValidationError(result, "next.name", "is_not_blank");
+        }
+
+        assertEquals("next.name", beanValidator.validateFirst(first).getProperty());
+        assertEquals("next.name", beanValidator.compile().validateFirst(first).getProperty());
+        assertEquals("name", beanValidator.validateFirst(second).getProperty());
+    }
+
+    @Test
+    public void testSharedNodeIsValidatedOnce() {
+        Node parent = new Node("parent");
+        Node shared = new Node(" ");
+        parent.children.add(shared);
+        parent.children.add(shared);
+        parent.next = shared;
+
+        AtomicInteger evaluations = new AtomicInteger();
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> {
+                evaluations.incrementAndGet();
+                return !name.trim().isEmpty();
+            }))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator));
+
+        ValidationResult result = beanValidator.validateAll(parent);
+
+        assertEquals(3, result.getErrors().size());
+        assertSingleValidationError(result, "children[0].name", "is_not_blank");
+        assertSingleValidationError(result, "children[1].name", "is_not_blank");
+        assertSingleValidationError(result, "next.name", "is_not_blank");
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void testCycleThroughParallelElements() {
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator, 2));
+
+        Node parent = new Node("parent");
+        for (int i = 0; i < 4; i++) {
+            Node child = new Node(" ");
+            child.children.add(parent);
+            parent.children.add(child);
+        }
+
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(parent),
+            beanValidator.compile().validate(parent)}) {
+            assertEquals(4, result.getErrors().size());
+            assertSingleValidationError(result, "children[0].name", "is_not_blank");
+            assertSingleValidationError(result, "children[3].name", "is_not_blank");
+        }
+    }
+
+    @Test
+    public void testMaxDepth() {
+        Node first = new Node("first");
+        first.next = new Node("second");
+        first.next.next = new Node(" ");
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator));
+        assertSingleValidationError(beanValidator.validateAll(first), "next.next.name", "is_not_blank");
+
+        beanValidator.maxDepth(1);
+        assertResultIsValid(beanValidator.validateAll(first));
+        assertResultIsValid(beanValidator.compile().validate(first));
+        AdaptiveValidationPlan<Node> adaptivePlan = beanValidator.compile().adaptive();
+        for (int i = 0; i < 200; i++) {
+            // some calls are samples, which evaluate all properties
+            assertNull(adaptivePlan.validateFirst(first));
+        }
+        assertSingleValidationError(beanValidator.validateAll(first.next), "next.name", "is_not_blank");
+    }
+
+    @Test
+    public void testSharedNodeFirstReachedAtMaxDepth() {
+        Node first = new Node("first");
+        Node shared = new Node("shared");
+        first.next = new Node("second");
+        first.next.next = shared;
+        first.children.add(shared);
+        shared.next = new Node(" ");
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator))
+            .maxDepth(2);
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(first),
+            beanValidator.compile().validate(first)}) {
+            assertEquals(1, result.getErrors().size());
+            assertSingleValidationError(result, "children[0].next.name", "is_not_blank");
+        }
+    }
+
+    public static class Node {
+
+        private final String name;
+        private final List<Node> children = new ArrayList<>();
+        private Node next;
+
+        public Node(String name) {
+            this.name = name;
+        }
+
+        public List<Node> getChildren() {
+            return this.children;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Node getNext() {
+            return this.next;
+        }
+    }
+}
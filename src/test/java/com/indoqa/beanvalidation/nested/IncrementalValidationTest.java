@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.nested;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class IncrementalValidationTest extends AbstractValidatorTest {
+
+    private static SimpleBean createSimpleBean(String id, Integer items, String nestedText) {
+        SimpleProperty simpleProperty = new SimpleProperty();
+        simpleProperty.setItems(items);
+
+        NestedSimpleProperty nested = new NestedSimpleProperty();
+        nested.setSimpleProperty(simpleProperty);
+        nested.setNestedText(nestedText);
+
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId(id);
+        simpleBean.setNested(nested);
+        return simpleBean;
+    }
+
+    @Test
+    public void testValidateProperty() {
+        AtomicInteger idEvaluations = new AtomicInteger();
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        BeanValidator<NestedSimpleProperty> nestedValidator = BeanValidator
+            .forClass(NestedSimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(NestedSimpleProperty::getSimpleProperty)
+                .withBeanValidator(simplePropertyValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(NestedSimpleProperty::getNestedText).isNotNull());
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isTrue("is_not_blank", id -> {
+                idEvaluations.incrementAndGet();
+                return !id.trim().isEmpty();
+            }))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getNested).withBeanValidator(nestedValidator));
+        SimpleBean simpleBean = createSimpleBean(" ", null, null);
+
+        ValidationResult result = beanValidator.validateProperty(simpleBean, "nested.simpleProperty.items");
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "nested.simpleProperty.items", "is_not_null");
+
+        result = beanValidator.validateProperty(simpleBean, "nested");
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "nested.nestedText", "is_not_null");
+
+        assertSingleValidationError(beanValidator.validateProperty(simpleBean, "id"), "id", "is_not_blank");
+        assertResultIsValid(beanValidator.validateProperty(simpleBean, "unknown"));
+        assertEquals(1, idEvaluations.get());
+    }
+
+    @Test
+    public void testValidateChanged() {
+        AtomicInteger idEvaluations = new AtomicInteger();
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        BeanValidator<NestedSimpleProperty> nestedValidator = BeanValidator
+            .forClass(NestedSimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(NestedSimpleProperty::getSimpleProperty)
+                .withBeanValidator(simplePropertyValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(NestedSimpleProperty::getNestedText).isNotNull());
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isTrue("is_not_blank", id -> {
+                idEvaluations.incrementAndGet();
+                return !id.trim().isEmpty();
+            }))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getNested).withBeanValidator(nestedValidator));
+        SimpleBean simpleBean = createSimpleBean(" ", null, null);
+        ValidationResult result = beanValidator.validateAll(simpleBean);
+        assertEquals(3, result.getErrors().size());
+
+        simpleBean.getNested().getSimpleProperty().setItems(1);
+        simpleBean.setId("id");
+        ValidationResult patchedResult = beanValidator.validateChanged(
+            simpleBean,
+            new HashSet<>(Arrays.asList("nested.simpleProperty.items", "nested.simpleProperty")),
+            result);
+
+        assertSame(result, patchedResult);
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "id", "is_not_blank");
+        assertSingleValidationError(result, "nested.nestedText", "is_not_null");
+        assertEquals(1, idEvaluations.get());
+
+        assertSame(
+            ValidationResult.VALID,
+            beanValidator.validateChanged(simpleBean, Collections.singleton("id"), ValidationResult.VALID));
+    }
+
+    @Test
+    public void testValidateDiff() {
+        AtomicInteger idEvaluations = new AtomicInteger();
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        BeanValidator<NestedSimpleProperty> nestedValidator = BeanValidator
+            .forClass(NestedSimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(NestedSimpleProperty::getSimpleProperty)
+                .withBeanValidator(simplePropertyValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(NestedSimpleProperty::getNestedText).isNotNull());
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isTrue("is_not_blank", id -> {
+                idEvaluations.incrementAndGet();
+                return !id.trim().isEmpty();
+            }))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getNested).withBeanValidator(nestedValidator));
+        SimpleBean previousBean = createSimpleBean("id", null, "text");
+        ValidationResult result = beanValidator.validateAll(previousBean);
+        assertSingleValidationError(result, "nested.simpleProperty.items", "is_not_null");
+
+        SimpleBean simpleBean = createSimpleBean(" ", null, "text");
+        simpleBean.setNested(previousBean.getNested());
+        result = beanValidator.validateDiff(previousBean, simpleBean, result);
+
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "id", "is_not_blank");
+        assertSingleValidationError(result, "nested.simpleProperty.items", "is_not_null");
+        assertEquals(2, idEvaluations.get());
+    }
+
+    @Test
+    public void testConditionReadsChangedProperty() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().when(SimpleBean::isSimple))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue());
+
+        SimpleBean previousBean = new SimpleBean();
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setSimple(true);
+
+        ValidationResult previous = beanValidator.validateAll(previousBean);
+        assertSingleValidationError(previous, "simple", "is_true");
+
+        ValidationResult result = beanValidator.validateDiff(previousBean, simpleBean, previous);
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "id", "is_not_null");
+
+        result = beanValidator.validateChanged(previousBean, Collections.singleton("simple"), result);
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "simple", "is_true");
+    }
+
+    @Test
+    public void testValidateChangedElement() {
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperties).forEach(simplePropertyValidator));
+
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setProperties(Arrays.asList(new SimpleProperty(), new SimpleProperty()));
+        ValidationResult result = beanValidator.validateAll(simpleBean);
+        assertEquals(2, result.getErrors().size());
+
+        beanValidator.validateChanged(simpleBean, Collections.singleton("properties[0].items"), result);
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "properties[0].items", "is_not_null");
+        assertSingleValidationError(result, "properties[1].items", "is_not_null");
+
+        simpleBean.getProperties().get(0).setItems(1);
+        beanValidator.validateChanged(simpleBean, Collections.singleton("properties[0]"), result);
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "properties[1].items", "is_not_null");
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.nested;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class IterativeValidationTest extends AbstractValidatorTest {
+
+    private static final int CHAIN_LENGTH = 50_000;
+
+    private static String repeat(String value, int count) {
+        StringBuilder stringBuilder = new StringBuilder(value.length() * count);
+        for (int i = 0; i < count; i++) {
+            stringBuilder.append(value);
+        }
+        return stringBuilder.toString();
+    }
+
+    @Test
+    public void testDeepChain() {
+        Node first = new Node("first");
+        Node last = first;
+        for (int i = 1; i < CHAIN_LENGTH; i++) {
+            last.next = new Node("node" + i);
+            last = last.next;
+        }
+        last.children.add(new Node(" "));
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator));
+        IterativeValidationPlan<Node> validationPlan = beanValidator.compile().iterative();
+
+        ValidationResult result = validationPlan.validate(first);
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, repeat("next.", CHAIN_LENGTH - 1) + "children[0].name", "is_not_blank");
+
+        last.children.clear();
+        assertResultIsValid(validationPlan.validate(first));
+    }
+
+    @Test
+    public void testCycle() {
+        Node first = new Node("first");
+        Node second = new Node(" ");
+        first.next = second;
+        second.next = first;
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator));
+
+        ValidationResult result = beanValidator.compile().iterative().validate(first);
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "next.name", "is_not_blank");
+    }
+
+    @Test
+    public void testSameResultAsRecursiveValidation() {
+        Node parent = new Node(" ");
+        Node shared = new Node(" ");
+        Node valid = new Node("valid");
+        parent.children.add(shared);
+        parent.children.add(valid);
+        parent.children.add(shared);
+        parent.next = valid;
+        valid.children.add(new Node(" "));
+        valid.children.add(shared);
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator));
+
+        ValidationPlan<Node> validationPlan = beanValidator.compile();
+        String expected = new TreeMap<>(validationPlan.validate(parent).getErrors()).toString();
+        assertEquals(expected, new TreeMap<>(validationPlan.iterative().validate(parent).getErrors()).toString());
+        assertEquals(expected, new TreeMap<>(validationPlan.iterative().validate(parent).compact().getErrors()).toString());
+    }
+
+    @Test
+    public void testSharedBeansAreValidatedOnce() {
+        AtomicInteger validations = new AtomicInteger();
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> {
+                validations.incrementAndGet();
+                return !name.trim().isEmpty();
+            }))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator));
+
+        Node first = new Node("level0");
+        Node last = first;
+        for (int i = 1; i <= 10; i++) {
+            Node shared = new Node(i == 10 ? " " : "level" + i);
+            last.children.add(shared);
+            last.children.add(shared);
+            last = shared;
+        }
+
+        ValidationResult result = beanValidator.compile().iterative().validate(first);
+        assertEquals(11, validations.get());
+        assertEquals(1024, result.getErrors().size());
+        assertSingleValidationError(result, repeat("children[0].", 10) + "name", "is_not_blank");
+        assertSingleValidationError(result, repeat("children[1].", 10) + "name", "is_not_blank");
+    }
+
+    @Test
+    public void testMaxDepth() {
+        Node first = new Node("first");
+        first.next = new Node("second");
+        first.next.next = new Node(" ");
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator));
+
+        assertResultIsValid(beanValidator.maxDepth(1).compile().iterative().validate(first));
+        assertSingleValidationError(
+            beanValidator.maxDepth(2).compile().iterative().validate(first),
+            "next.next.name",
+            "is_not_blank");
+    }
+
+    @Test
+    public void testSharedNodeFirstReachedAtMaxDepth() {
+        Node first = new Node("first");
+        Node shared = new Node("shared");
+        first.next = new Node("second");
+        first.next.next = shared;
+        first.children.add(shared);
+        shared.next = new Node(" ");
+
+        BeanValidator<Node> beanValidator = BeanValidator.forClass(Node.class);
+        beanValidator
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getName).isTrue("is_not_blank", name -> !name.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getNext).when(node -> node.getNext() != null)
+                .withBeanValidator(beanValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(Node::getChildren).forEach(beanValidator))
+            .maxDepth(2);
+
+        ValidationResult result = beanValidator.compile().iterative().validate(first);
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "children[0].next.name", "is_not_blank");
+    }
+
+    public static class Node {
+
+        private final String name;
+        private final List<Node> children = new ArrayList<>();
+        private Node next;
+
+        public Node(String name) {
+            this.name = name;
+        }
+
+        public List<Node> getChildren() {
+            return this.children;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Node getNext() {
+            return this.next;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.plan;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class AdaptiveValidationPlanTest extends AbstractValidatorTest {
+
+    @Test
+    public void testFailingPropertyIsCheckedFirst() {
+        AtomicInteger invocations = new AtomicInteger();
+
+        AdaptiveValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forLambda(SimpleBean.class, (t) -> {
+                invocations.incrementAndGet();
+                return t.getMessages();
+            }, "messages").isNull())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull())
+            .compile()
+            .adaptive();
+
+        SimpleBean simpleBean = new SimpleBean();
+        for (int i = 0; i < 10_000; i++) {
+            ValidationError validationError = plan.validateFirst(simpleBean);
+            assertEquals("id", validationError.getProperty());
+        }
+
+        invocations.set(0);
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(plan.isValid(simpleBean));
+        }
+        // only the sampled validations evaluate the messages property
+        assertTrue("Unexpected invocations: " + invocations.get(), invocations.get() < 1_000);
+
+        assertSingleValidationError(plan.validate(simpleBean), "id", "is_not_null");
+    }
+
+    @Test
+    public void testOrderFollowsChangingFailures() {
+        AdaptiveValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isNull())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull())
+            .compile()
+            .adaptive();
+
+        SimpleBean missingId = new SimpleBean();
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals("id", plan.validateFirst(missingId).getProperty());
+        }
+
+        SimpleBean withMessages = new SimpleBean();
+        withMessages.setId("1");
+        withMessages.setMessages(Collections.singletonList("message"));
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals("messages", plan.validateFirst(withMessages).getProperty());
+        }
+
+        // the messages property fails in the recent samples, so it is checked first although the id failed more often in total
+        SimpleBean invalid = new SimpleBean();
+        invalid.setMessages(Collections.singletonList("message"));
+        assertEquals("messages", plan.validateFirst(invalid).getProperty());
+    }
+}
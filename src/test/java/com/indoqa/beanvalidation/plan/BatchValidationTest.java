@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.plan;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class BatchValidationTest extends AbstractValidatorTest {
+
+    private static List<SimpleBean> createBatch(int size) {
+        List<SimpleBean> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            SimpleBean simpleBean = new SimpleBean();
+            simpleBean.setId(i % 10 == 3 ? "" : "id-" + i);
+            batch.add(simpleBean);
+        }
+        return batch;
+    }
+
+    @Test
+    public void testValidateBatch() {
+        List<SimpleBean> batch = createBatch(5000);
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty());
+
+        for (BatchValidationResult result : new BatchValidationResult[] {beanValidator.validateBatch(batch),
+            beanValidator.validateBatch(batch, true), beanValidator.compile().validateBatch(batch, true),
+            beanValidator.validateBatch(new LinkedList<>(batch), true), beanValidator.validateBatch(batch).compact()}) {
+            assertFalse(result.isValid());
+            assertEquals(5000, result.size());
+            assertEquals(500, result.getInvalidCount());
+
+            int[] invalidIndexes = result.getInvalidIndexes();
+            for (int i = 0; i < invalidIndexes.length; i++) {
+                assertEquals(i * 10 + 3, invalidIndexes[i]);
+            }
+
+            assertTrue(result.isValid(2));
+            assertSame(ValidationResult.VALID, result.getResult(2));
+            assertFalse(result.isValid(13));
+            assertSingleValidationError(result.getResult(13), "id", "is_not_empty");
+        }
+    }
+
+    @Test
+    public void testValidateEmptyBatch() {
+        BatchValidationResult result = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty())
+            .validateBatch(Collections.emptyList());
+
+        assertTrue(result.isValid());
+        assertEquals(0, result.size());
+        assertEquals(0, result.getInvalidCount());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty())
+            .validateBatch(createBatch(3))
+            .getResult(3);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.plan;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class CachingValidatorTest extends AbstractValidatorTest {
+
+    private static SimpleProperty createSimpleProperty(Integer items) {
+        SimpleProperty simpleProperty = new SimpleProperty();
+        simpleProperty.setItems(items);
+        return simpleProperty;
+    }
+
+    @Test
+    public void testCachedByIdentity() {
+        AtomicInteger evaluations = new AtomicInteger();
+        CachingValidator<SimpleProperty> cachingValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull().isTrue("is_small", items -> {
+                evaluations.incrementAndGet();
+                return items < 10;
+            }))
+            .cachedByIdentity(2);
+        SimpleProperty simpleProperty = createSimpleProperty(20);
+
+        ValidationResult result = cachingValidator.validateAll(simpleProperty);
+        assertSingleValidationError(result, "items", "is_small");
+        assertSame(result, cachingValidator.validateAll(simpleProperty));
+        cachingValidator.validateAll(createSimpleProperty(20));
+
+        assertEquals(2, evaluations.get());
+        assertEquals(1, cachingValidator.getHitCount());
+        assertEquals(2, cachingValidator.getMissCount());
+        assertEquals(2, cachingValidator.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        AtomicInteger evaluations = new AtomicInteger();
+        CachingValidator<SimpleProperty> cachingValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull().isTrue("is_small", items -> {
+                evaluations.incrementAndGet();
+                return items < 10;
+            }))
+            .cachedByIdentity(2);
+        SimpleProperty first = createSimpleProperty(1);
+        SimpleProperty second = createSimpleProperty(2);
+
+        assertSame(ValidationResult.VALID, cachingValidator.validateAll(first));
+        cachingValidator.validateAll(second);
+        cachingValidator.validateAll(first);
+        cachingValidator.validateAll(createSimpleProperty(3));
+        assertEquals(3, evaluations.get());
+
+        // second was the least recently used bean and has been evicted
+        cachingValidator.validateAll(first);
+        cachingValidator.validateAll(second);
+        assertEquals(4, evaluations.get());
+        assertEquals(2, cachingValidator.size());
+
+        cachingValidator.invalidateAll();
+        assertEquals(0, cachingValidator.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCachedResultIsImmutable() {
+        ValidationResult result = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isTrue("is_small", items -> items < 10))
+            .cached(10)
+            .validateAll(createSimpleProperty(20));
+
+        assertSingleValidationError(result, "items", "is_small");
+        result.addError("items", "is_not_null");
+    }
+
+    @Test
+    public void testCachedErrorsAreImmutable() {
+        CachingValidator<SimpleProperty> cachingValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isTrue("is_small", items -> items < 10))
+            .cached(10);
+        SimpleProperty simpleProperty = createSimpleProperty(20);
+        ValidationError cachedError = cachingValidator.validateAll(simpleProperty).getErrors("items").get(0);
+
+        try {
+            cachedError.setProperty("modified");
+            fail("The cached error must not be modifiable.");
+        } catch (UnsupportedOperationException e) {
+            assertSingleValidationError(cachingValidator.validateAll(simpleProperty), "items", "is_small");
+        }
+
+        ValidationResult result = new ValidationResult();
+        result.addErrors(cachingValidator.validateAll(simpleProperty));
+        result.getErrors("items").get(0).setProperty("modified");
+        assertSingleValidationError(cachingValidator.validateAll(simpleProperty), "items", "is_small");
+    }
+
+    @Test
+    public void testCachedResultCanBeNested() {
+        ValidationResult cachedResult = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isTrue("is_small", items -> items < 10))
+            .cached(10)
+            .validateAll(createSimpleProperty(20));
+
+        ValidationResult result = new ValidationResult();
+        result.addErrors("property", cachedResult);
+        result.addErrors(cachedResult);
+        result.addErrors(cachedResult);
+
+        assertSingleValidationError(result, "property.items", "is_small");
+        assertValidationErrors(result, "items", 2, "is_small", "is_small");
+        assertSingleValidationError(cachedResult, "items", "is_small");
+    }
+}
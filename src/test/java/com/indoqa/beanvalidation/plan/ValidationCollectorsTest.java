@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.plan;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class ValidationCollectorsTest extends AbstractValidatorTest {
+
+    private static Stream<SimpleBean> createBeans(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            SimpleBean simpleBean = new SimpleBean();
+            simpleBean.setId(i % 4 == 0 ? null : "id-" + i);
+            simpleBean.setSimple(i % 5 != 0);
+            return simpleBean;
+        });
+    }
+
+    @Test
+    public void testAsPredicate() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull());
+
+        assertEquals(750, createBeans(1000).filter(beanValidator.asPredicate()).count());
+        assertEquals(750, createBeans(1000).parallel().filter(beanValidator.compile().asPredicate()).count());
+    }
+
+    @Test
+    public void testOutcome() {
+        ValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull())
+            .compile();
+
+        List<ValidationOutcome<SimpleBean>> outcomes = createBeans(5)
+            .map(ValidationCollectors.outcome(plan))
+            .collect(Collectors.toList());
+
+        assertFalse(outcomes.get(0).isValid());
+        assertEquals("id", outcomes.get(0).getFirstError().getProperty());
+        assertTrue(outcomes.get(1).isValid());
+        assertNull(outcomes.get(1).getFirstError());
+        assertSame(outcomes.get(1).getBean(), outcomes.get(1).getBean());
+    }
+
+    @Test
+    public void testPartitioningByValidity() {
+        ValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue())
+            .compile();
+
+        Map<Boolean, List<SimpleBean>> partitions = createBeans(1000)
+            .parallel()
+            .collect(ValidationCollectors.partitioningByValidity(plan));
+
+        // invalid: 250 without id, 200 not simple, 50 both
+        assertEquals(600, partitions.get(true).size());
+        assertEquals(400, partitions.get(false).size());
+    }
+
+    @Test
+    public void testErrorCounts() {
+        ValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue())
+            .compile();
+
+        Map<String, Long> errorCounts = createBeans(1000)
+            .parallel()
+            .collect(ValidationCollectors.errorCounts(plan));
+
+        assertEquals(3, errorCounts.size());
+        assertEquals(Long.valueOf(250), errorCounts.get("is_not_null"));
+        assertEquals(Long.valueOf(250), errorCounts.get("is_not_empty"));
+        assertEquals(Long.valueOf(200), errorCounts.get("is_true"));
+    }
+}
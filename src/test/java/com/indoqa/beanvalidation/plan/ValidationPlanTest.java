@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.plan;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class ValidationPlanTest extends AbstractValidatorTest {
+
+    @Test
+    public void testCompiledPlanValid() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("value");
+        simpleBean.setMessages(Collections.singletonList("listvalue"));
+        simpleBean.setSimple(true);
+        SimpleProperty property = new SimpleProperty();
+        property.setItems(3);
+        simpleBean.setProperty(property);
+
+        BeanValidator<SimpleProperty> simplePropertyBeanValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull().isNotEmpty());
+
+        ValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isNotNull().isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue())
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getProperty)
+                .withBeanValidator(simplePropertyBeanValidator))
+            .compile();
+
+        ValidationResult result = plan.validate(simpleBean);
+        assertNotNull(result);
+        assertResultHasNoErrors(result);
+        assertResultIsValid(result);
+    }
+
+    @Test
+    public void testCompiledPlanInvalid() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId(null);
+        simpleBean.setMessages(Collections.emptyList());
+        simpleBean.setSimple(false);
+        simpleBean.setProperty(new SimpleProperty());
+
+        BeanValidator<SimpleProperty> simplePropertyBeanValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull().isNotEmpty());
+
+        ValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isNotNull().isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue())
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getProperty)
+                .withBeanValidator(simplePropertyBeanValidator))
+            .compile();
+
+        ValidationResult result = plan.validate(simpleBean);
+        assertNotNull(result);
+        assertResultHasErrors(result);
+        assertResultIsInvalid(result);
+
+        assertValidationErrors(result, "id", 2, "is_not_null", "is_not_empty");
+        assertValidationErrors(result, "messages", 1, "is_not_empty");
+        assertValidationErrors(result, "simple", 1, "is_true");
+        assertValidationErrors(result, "property.items", 2, "is_not_null", "is_not_empty");
+    }
+
+    @Test
+    public void testBuiltInValidations() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getId)
+                .isNotNull()
+                .isNotEmpty()
+                .isFalse("is_blank", id -> id.trim().isEmpty()))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMappings).isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getNumbers).isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getInts).isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getComplicated).isTrue())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperty).isEmpty().isNotEmpty())
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isFalse());
+
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("");
+        simpleBean.setMessages(Collections.emptyList());
+        simpleBean.setMappings(Collections.emptyMap());
+        simpleBean.setNumbers(new Integer[0]);
+        simpleBean.setInts(new int[0]);
+        simpleBean.setComplicated(false);
+        simpleBean.setProperty(new SimpleProperty());
+
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(simpleBean),
+            beanValidator.compile().validate(simpleBean)}) {
+            assertEquals(6, result.getErrors().size());
+            assertValidationErrors(result, "id", 2, "is_not_empty", "is_blank");
+            assertSingleValidationError(result, "messages", "is_not_empty");
+            assertSingleValidationError(result, "mappings", "is_not_empty");
+            assertSingleValidationError(result, "numbers", "is_not_empty");
+            assertSingleValidationError(result, "ints", "is_not_empty");
+            assertSingleValidationError(result, "complicated", "is_true");
+        }
+        assertEquals("id", beanValidator.compile().validateFirst(simpleBean).getProperty());
+
+        simpleBean.setId("id");
+        simpleBean.setMessages(Collections.singletonList("message"));
+        simpleBean.setMappings(Collections.singletonMap("key", "value"));
+        simpleBean.setNumbers(new Integer[] {1});
+        simpleBean.setInts(new int[] {1});
+        simpleBean.setComplicated(true);
+        assertResultIsValid(beanValidator.validateAll(simpleBean));
+        assertResultIsValid(beanValidator.compile().validate(simpleBean));
+        assertTrue(beanValidator.compile().isValid(simpleBean));
+    }
+
+    @Test
+    public void testCompiledPlanIsImmutable() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("value");
+
+        PropertyValidator<SimpleBean, String> propertyValidator = PropertyValidator.forMethod(SimpleBean::getId).isNotNull();
+        BeanValidator<SimpleBean> beanValidator = BeanValidator.forClass(SimpleBean.class).addPropertyValidator(propertyValidator);
+        ValidationPlan<SimpleBean> plan = beanValidator.compile();
+
+        propertyValidator.isNull();
+        beanValidator.addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isNotNull());
+
+        assertResultIsValid(plan.validate(simpleBean));
+        assertResultIsInvalid(beanValidator.validateAll(simpleBean));
+    }
+
+    @Test
+    public void testCompiledPlanIsSharedBetweenThreads() throws Exception {
+        BeanValidator<SimpleProperty> simplePropertyBeanValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull().isNotEmpty());
+
+        ValidationPlan<SimpleBean> plan = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().isNotEmpty())
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getProperty)
+                .withBeanValidator(simplePropertyBeanValidator))
+            .compile();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<ValidationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                SimpleBean simpleBean = new SimpleBean();
+                simpleBean.setProperty(new SimpleProperty());
+                futures.add(executorService.submit(() -> plan.validate(simpleBean)));
+            }
+
+            for (Future<ValidationResult> future : futures) {
+                ValidationResult result = future.get();
+                assertValidationErrors(result, "id", 2, "is_not_null", "is_not_empty");
+                assertValidationErrors(result, "property.items", 2, "is_not_null", "is_not_empty");
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
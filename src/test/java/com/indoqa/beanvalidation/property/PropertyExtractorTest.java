@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.property;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import com.indoqa.beanvalidation.SimpleBean;
+import org.junit.Test;
+
+public class PropertyExtractorTest {
+
+    @Test
+    public void testPropertyNames() {
+        PropertyFunction<SimpleBean, String> id = SimpleBean::getId;
+        PropertyFunction<SimpleBean, Boolean> simple = SimpleBean::isSimple;
+        PropertyFunction<SimpleBean, List<String>> messages = SimpleBean::getMessages;
+
+        assertEquals("id", PropertyExtractor.getPropertyName(id));
+        assertEquals("simple", PropertyExtractor.getPropertyName(simple));
+        assertEquals("messages", PropertyExtractor.getPropertyName(messages));
+    }
+
+    @Test
+    public void testCachedPropertyName() {
+        PropertyFunction<SimpleBean, String> id = SimpleBean::getId;
+        PropertyFunction<SimpleBean, Map<String, String>> mappings = SimpleBean::getMappings;
+        PropertyExtractor.preResolve(id, mappings);
+
+        assertEquals("id", PropertyExtractor.getPropertyName(id));
+        assertEquals("mappings", PropertyExtractor.getPropertyName(mappings));
+    }
+}
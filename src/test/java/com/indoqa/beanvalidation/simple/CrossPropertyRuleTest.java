@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.simple;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class CrossPropertyRuleTest extends AbstractValidatorTest {
+
+    @Test
+    public void testCrossPropertyRules() {
+        BeanValidator<Period> beanValidator = BeanValidator
+            .forClass(Period.class)
+            .addPropertyValidator(PropertyValidator.forMethod(Period::getStart).isNotNull())
+            .addRule("end", "is_after_start", values -> {
+                Integer start = values.get(0);
+                Integer end = values.get(1);
+                return start == null || end == null || end > start;
+            }, Period::getStart, Period::getEnd)
+            .addRule(
+                "end",
+                "is_not_null_or_open",
+                values -> !values.isNull(0) || values.<Boolean>get(1),
+                Period::getEnd,
+                Period::isOpen);
+
+        assertResultIsValid(beanValidator.validateAll(new Period(1, 2, false)));
+        assertResultIsValid(beanValidator.validateAll(new Period(1, null, true)));
+
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(new Period(2, 1, false)),
+            beanValidator.compile().validate(new Period(2, 1, false))}) {
+            assertSingleValidationError(result, "end", "is_after_start");
+        }
+
+        ValidationResult result = beanValidator.validateAll(new Period(null, null, false));
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "start", "is_not_null");
+        assertSingleValidationError(result, "end", "is_not_null_or_open");
+
+        assertEquals("end", beanValidator.validateFirst(new Period(2, 1, false)).getProperty());
+        assertEquals("end", beanValidator.compile().adaptive().validateFirst(new Period(2, 1, false)).getProperty());
+    }
+
+    @Test
+    public void testPropertiesAreFetchedOnce() {
+        BeanValidator<Period> beanValidator = BeanValidator
+            .forClass(Period.class)
+            .addPropertyValidator(PropertyValidator.forMethod(Period::getStart).isNotNull())
+            .addRule("end", "is_after_start", values -> {
+                Integer start = values.get(0);
+                Integer end = values.get(1);
+                return start == null || end == null || end > start;
+            }, Period::getStart, Period::getEnd)
+            .addRule(
+                "end",
+                "is_not_null_or_open",
+                values -> !values.isNull(0) || values.<Boolean>get(1),
+                Period::getEnd,
+                Period::isOpen);
+        Period period = new Period(2, 1, false);
+
+        // the rules reuse the value fetched by the property validator
+        beanValidator.validateAll(period);
+        assertEquals(1, period.startCalls);
+        assertEquals(1, period.endCalls);
+
+        beanValidator.compile().validate(period);
+        assertEquals(2, period.startCalls);
+        assertEquals(2, period.endCalls);
+
+        beanValidator.validateFirst(period);
+        assertEquals(3, period.startCalls);
+
+        // only the values of the rules reporting on "start" are fetched
+        beanValidator.validateProperty(period, "start");
+        assertEquals(4, period.startCalls);
+        assertEquals(3, period.endCalls);
+    }
+
+    @Test
+    public void testExplicitPropertyNames() {
+        BeanValidator<Period> beanValidator = BeanValidator
+            .forClass(Period.class)
+            .addPropertyValidator(PropertyValidator.forMethod(Period::getStart, "start").isNotNull())
+            .addRule("end", "is_after_start", values -> {
+                Integer start = values.get(0);
+                Integer end = values.get(1);
+                return start == null || end == null || end > start;
+            }, new String[] {"start", "end"}, Period::getStart, Period::getEnd);
+
+        Period period = new Period(2, 1, false);
+        assertSingleValidationError(beanValidator.validateAll(period), "end", "is_after_start");
+        assertEquals(1, period.startCalls);
+
+        // the rule depends on the explicitly named property
+        ValidationResult result = new ValidationResult();
+        beanValidator.validateChanged(period, Collections.singleton("start"), result);
+        assertSingleValidationError(result, "end", "is_after_start");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingPropertyName() {
+        BeanValidator.forClass(Period.class).addRule("end", "is_set", values -> true, new String[] {"start"}, Period::getStart,
+            Period::getEnd);
+    }
+
+    @Test
+    public void testValidateChangedDependentProperty() {
+        BeanValidator<Period> beanValidator = BeanValidator.forClass(Period.class).addRule("end", "is_after_start", values -> {
+            Integer start = values.get(0);
+            Integer end = values.get(1);
+            return start == null || end == null || end > start;
+        }, Period::getStart, Period::getEnd);
+        Period period = new Period(2, 3, false);
+        ValidationResult result = new ValidationResult();
+
+        period.start = 4;
+        beanValidator.validateChanged(period, Collections.singleton("start"), result);
+        assertSingleValidationError(result, "end", "is_after_start");
+
+        Period changedPeriod = new Period(1, 3, false);
+        beanValidator.validateDiff(period, changedPeriod, result);
+        assertResultIsValid(result);
+    }
+
+    public static class Period {
+
+        private Integer start;
+        private Integer end;
+        private boolean open;
+
+        private int startCalls;
+        private int endCalls;
+
+        public Period(Integer start, Integer end, boolean open) {
+            this.start = start;
+            this.end = end;
+            this.open = open;
+        }
+
+        public Integer getEnd() {
+            this.endCalls++;
+            return this.end;
+        }
+
+        public Integer getStart() {
+            this.startCalls++;
+            return this.start;
+        }
+
+        public boolean isOpen() {
+            return this.open;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.simple;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class FailFastValidatorTest extends AbstractValidatorTest {
+
+    @Test
+    public void testIsValid() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("value");
+        SimpleProperty property = new SimpleProperty();
+        property.setItems(1);
+        simpleBean.setProperty(property);
+
+        AtomicInteger invocations = new AtomicInteger();
+        BeanValidator<SimpleProperty> simplePropertyBeanValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getProperty)
+                .withBeanValidator(simplePropertyBeanValidator))
+            .addPropertyValidator(PropertyValidator.forLambda(SimpleBean.class, (t) -> {
+                invocations.incrementAndGet();
+                return t.getId();
+            }, "id").isNotNull());
+
+        assertTrue(beanValidator.isValid(simpleBean));
+        assertNull(beanValidator.validateFirst(simpleBean));
+        assertTrue(beanValidator.compile().isValid(simpleBean));
+        assertNull(beanValidator.compile().validateFirst(simpleBean));
+        assertEquals(4, invocations.get());
+    }
+
+    @Test
+    public void testValidateFirstStopsAtFirstViolation() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setProperty(new SimpleProperty());
+
+        AtomicInteger invocations = new AtomicInteger();
+        BeanValidator<SimpleProperty> simplePropertyBeanValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator
+                .forMethod(SimpleBean::getProperty)
+                .withBeanValidator(simplePropertyBeanValidator))
+            .addPropertyValidator(PropertyValidator.forLambda(SimpleBean.class, (t) -> {
+                invocations.incrementAndGet();
+                return t.getId();
+            }, "id").isNotNull());
+
+        assertFalse(beanValidator.isValid(simpleBean));
+        ValidationError validationError = beanValidator.validateFirst(simpleBean);
+        assertEquals("property.items", validationError.getProperty());
+        assertEquals("is_not_null", validationError.getValidationKey());
+
+        assertFalse(beanValidator.compile().isValid(simpleBean));
+        validationError = beanValidator.compile().validateFirst(simpleBean);
+        assertEquals("property.items", validationError.getProperty());
+        assertEquals("is_not_null", validationError.getValidationKey());
+
+        assertEquals(0, invocations.get());
+    }
+}
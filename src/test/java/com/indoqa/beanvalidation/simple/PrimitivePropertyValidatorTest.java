@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.simple;
+
+import static org.junit.Assert.*;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class PrimitivePropertyValidatorTest extends AbstractValidatorTest {
+
+    @Test
+    public void testPrimitivePropertiesValid() {
+        NumericBean numericBean = new NumericBean();
+        numericBean.setCount(5);
+        numericBean.setSize(512);
+        numericBean.setRatio(0.5);
+        numericBean.setEnabled(true);
+
+        BeanValidator<NumericBean> beanValidator = BeanValidator
+            .forClass(NumericBean.class)
+            .addPropertyValidator(IntPropertyValidator.forMethod(NumericBean::getCount).isPositive().isLessThan(10))
+            .addPropertyValidator(LongPropertyValidator
+                .forMethod(NumericBean::getSize)
+                .isBetween(1, 1024)
+                .isFalse("is_odd", (value) -> value % 2 == 1))
+            .addPropertyValidator(DoublePropertyValidator.forMethod(NumericBean::getRatio).isGreaterThan(0.0).isLessThan(1.0))
+            .addPropertyValidator(BooleanPropertyValidator.forMethod(NumericBean::isEnabled).isTrue());
+        assertResultIsValid(beanValidator.validateAll(numericBean));
+        assertResultIsValid(beanValidator.compile().validate(numericBean));
+        assertTrue(beanValidator.compile().isValid(numericBean));
+    }
+
+    @Test
+    public void testPrimitivePropertiesInvalid() {
+        NumericBean numericBean = new NumericBean();
+        numericBean.setCount(-5);
+        numericBean.setSize(2049);
+        numericBean.setRatio(1.5);
+        numericBean.setEnabled(false);
+
+        BeanValidator<NumericBean> beanValidator = BeanValidator
+            .forClass(NumericBean.class)
+            .addPropertyValidator(IntPropertyValidator.forMethod(NumericBean::getCount).isPositive().isLessThan(10))
+            .addPropertyValidator(LongPropertyValidator
+                .forMethod(NumericBean::getSize)
+                .isBetween(1, 1024)
+                .isFalse("is_odd", (value) -> value % 2 == 1))
+            .addPropertyValidator(DoublePropertyValidator.forMethod(NumericBean::getRatio).isGreaterThan(0.0).isLessThan(1.0))
+            .addPropertyValidator(BooleanPropertyValidator.forMethod(NumericBean::isEnabled).isTrue());
+        for (ValidationResult result : new ValidationResult[] {beanValidator.validateAll(numericBean),
+            beanValidator.compile().validate(numericBean)}) {
+            assertResultIsInvalid(result);
+            assertSingleValidationError(result, "count", "is_positive");
+            assertValidationErrors(result, "size", 2, "is_between", "is_odd");
+            assertSingleValidationError(result, "ratio", "is_less_than");
+            assertSingleValidationError(result, "enabled", "is_true");
+        }
+
+        ValidationError validationError = beanValidator.compile().validateFirst(numericBean);
+        assertEquals("count", validationError.getProperty());
+        assertEquals("is_positive", validationError.getValidationKey());
+    }
+
+    @Test
+    public void testPrimitiveProperty() {
+        NumericBean numericBean = new NumericBean();
+        numericBean.setCount(11);
+
+        ValidationResult result = IntPropertyValidator
+            .forMethod(NumericBean::getCount)
+            .isLessThan(10)
+            .property("amount")
+            .validate(numericBean);
+        assertResultIsInvalid(result);
+        assertSingleValidationError(result, "amount", "is_less_than");
+    }
+}
@@ -21,6 +21,8 @@ import static org.junit.Assert.*;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import com.indoqa.beanvalidation.*;
 import org.junit.Test;
@@ -77,4 +79,60 @@ public class SimplePropertyValidatorTest extends AbstractValidatorTest {
 
         assertSingleValidationError(result, "id-partial", "is_null");
     }
+
+    @Test
+    public void testPropertyIsFetchedOnce() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("value");
+        AtomicInteger invocations = new AtomicInteger();
+
+        PropertyValidator<SimpleBean, String> propertyValidator = PropertyValidator
+            .forLambda(SimpleBean.class, (t) -> {
+                invocations.incrementAndGet();
+                return t.getId();
+            }, "id")
+            .isNotNull()
+            .isNotEmpty()
+            .isTrue("starts_with_v", (value) -> value.startsWith("v"))
+            .isFalse("is_blank", (value) -> value.trim().isEmpty());
+
+        assertResultIsValid(propertyValidator.validate(simpleBean));
+        assertEquals(1, invocations.get());
+
+        assertResultIsValid(BeanValidator.forClass(SimpleBean.class).addPropertyValidator(propertyValidator).compile().validate(simpleBean));
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testValidationOrder() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("");
+
+        PropertyValidator<SimpleBean, String> propertyValidator = PropertyValidator
+            .forMethod(SimpleBean::getId)
+            .isTrue("is_expensive", (value) -> value.length() > 3, 100)
+            .isTrue("is_cheap", (value) -> value.length() > 2, 1)
+            .isTrue("has_digit", (value) -> value.matches(".*[0-9].*"))
+            .isNotEmpty();
+
+        ValidationError validationError = propertyValidator.validateFirst(simpleBean);
+        assertEquals("is_not_empty", validationError.getValidationKey());
+
+        ValidationResult result = propertyValidator.validate(simpleBean);
+        assertEquals(
+            Arrays.asList("is_not_empty", "is_cheap", "has_digit", "is_expensive"),
+            result.getErrors("id").stream().map(ValidationError::getValidationKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testModificationAfterValidation() {
+        SimpleBean simpleBean = new SimpleBean();
+
+        PropertyValidator<SimpleBean, String> propertyValidator = PropertyValidator.forMethod(SimpleBean::getId);
+        assertResultIsValid(propertyValidator.validate(simpleBean));
+
+        propertyValidator.isNotNull().property("identifier");
+        assertSingleValidationError(propertyValidator.validate(simpleBean), "identifier", "is_not_null");
+        assertEquals("identifier", propertyValidator.validateFirst(simpleBean).getProperty());
+    }
 }
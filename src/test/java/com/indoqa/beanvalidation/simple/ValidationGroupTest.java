@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.beanvalidation.simple;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class ValidationGroupTest extends AbstractValidatorTest {
+
+    @Test
+    public void testValidationGroups() {
+        AtomicInteger messageEvaluations = new AtomicInteger();
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNull().groups("create"))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().groups("update", "import"))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isTrue("is_counted", messages -> {
+                messageEvaluations.incrementAndGet();
+                return true;
+            }).groups("import"))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue());
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setSimple(true);
+
+        assertResultIsValid(beanValidator.validateAll(simpleBean, "create"));
+        assertSingleValidationError(beanValidator.validateAll(simpleBean, "update"), "id", "is_not_null");
+
+        simpleBean.setId("id");
+        simpleBean.setMessages(Collections.emptyList());
+        simpleBean.setSimple(false);
+        ValidationResult result = beanValidator.validateAll(simpleBean, "create");
+        assertSingleValidationError(result, "id", "is_null");
+        assertSingleValidationError(result, "simple", "is_true");
+
+        assertEquals(0, messageEvaluations.get());
+        beanValidator.validateAll(simpleBean, "import");
+        assertEquals(1, messageEvaluations.get());
+
+        // without a group, all validators are evaluated
+        assertValidationErrors(beanValidator.validateAll(simpleBean), "id", 1, "is_null");
+        assertEquals(2, messageEvaluations.get());
+    }
+
+    @Test
+    public void testGroupPlansAreRecompiledAfterChanges() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNull().groups("create"))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::isSimple).isTrue());
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setSimple(true);
+
+        assertResultIsValid(beanValidator.validateAll(simpleBean, "create"));
+        beanValidator.addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getMessages).isNotNull().groups("create"));
+        assertSingleValidationError(beanValidator.validateAll(simpleBean, "create"), "messages", "is_not_null");
+
+        PropertyValidator<SimpleBean, SimpleProperty> propertyValidator = PropertyValidator.forMethod(SimpleBean::getProperty);
+        beanValidator.addPropertyValidator(propertyValidator);
+        assertEquals(1, beanValidator.validateAll(simpleBean, "create").getErrors().size());
+
+        propertyValidator.isNotNull();
+        assertEquals(2, beanValidator.validateAll(simpleBean, "create").getErrors().size());
+        assertSingleValidationError(beanValidator.validateAll(simpleBean, "create"), "property", "is_not_null");
+
+        BeanValidator<SimpleProperty> nestedValidator = BeanValidator.forClass(SimpleProperty.class);
+        propertyValidator.withBeanValidator(nestedValidator);
+        simpleBean.setProperty(new SimpleProperty());
+        assertEquals(1, beanValidator.validateAll(simpleBean, "create").getErrors().size());
+
+        nestedValidator.addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull());
+        assertSingleValidationError(beanValidator.validateAll(simpleBean, "create"), "property.items", "is_not_null");
+    }
+
+    @Test
+    public void testWhen() {
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getId).isNotNull().when(SimpleBean::isSimple));
+
+        SimpleBean simpleBean = new SimpleBean();
+        assertResultIsValid(beanValidator.validateAll(simpleBean));
+        assertResultIsValid(beanValidator.compile().validate(simpleBean));
+        assertNull(beanValidator.validateFirst(simpleBean));
+
+        simpleBean.setSimple(true);
+        assertSingleValidationError(beanValidator.validateAll(simpleBean), "id", "is_not_null");
+        assertSingleValidationError(beanValidator.compile().validate(simpleBean), "id", "is_not_null");
+        assertEquals("id", beanValidator.compile().validateFirst(simpleBean).getProperty());
+    }
+
+    @Test
+    public void testPrimitiveValidators() {
+        BeanValidator<NumericBean> beanValidator = BeanValidator
+            .forClass(NumericBean.class)
+            .addPropertyValidator(IntPropertyValidator.forMethod(NumericBean::getCount).isPositive().groups("create"))
+            .addPropertyValidator(LongPropertyValidator.forMethod(NumericBean::getSize).isPositive().when(NumericBean::isEnabled))
+            .addPropertyValidator(DoublePropertyValidator.forMethod(NumericBean::getRatio).isPositive().groups("update"))
+            .addPropertyValidator(BooleanPropertyValidator.forMethod(NumericBean::isEnabled).isTrue().groups("update"));
+
+        NumericBean numericBean = new NumericBean();
+        ValidationResult result = beanValidator.validateAll(numericBean, "create");
+        assertEquals(1, result.getErrors().size());
+        assertSingleValidationError(result, "count", "is_positive");
+
+        numericBean.setEnabled(true);
+        result = beanValidator.validateAll(numericBean, "update");
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "size", "is_positive");
+        assertSingleValidationError(result, "ratio", "is_positive");
+        assertEquals(3, beanValidator.validateAll(numericBean).getErrors().size());
+    }
+
+    @Test
+    public void testNestedValidationGroups() {
+        BeanValidator<SimpleProperty> simplePropertyValidator = BeanValidator
+            .forClass(SimpleProperty.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleProperty::getItems).isNotNull().groups("update"));
+        BeanValidator<SimpleBean> beanValidator = BeanValidator
+            .forClass(SimpleBean.class)
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperty).withBeanValidator(simplePropertyValidator))
+            .addPropertyValidator(PropertyValidator.forMethod(SimpleBean::getProperties).forEach(simplePropertyValidator));
+
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setProperty(new SimpleProperty());
+        simpleBean.setProperties(Collections.singletonList(new SimpleProperty()));
+
+        assertResultIsValid(beanValidator.validateAll(simpleBean, "create"));
+
+        ValidationResult result = beanValidator.validateAll(simpleBean, "update");
+        assertEquals(2, result.getErrors().size());
+        assertSingleValidationError(result, "property.items", "is_not_null");
+        assertSingleValidationError(result, "properties[0].items", "is_not_null");
+    }
+}
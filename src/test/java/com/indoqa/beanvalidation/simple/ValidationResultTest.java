@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.indoqa.beanvalidation.simple;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import com.indoqa.beanvalidation.*;
+import org.junit.Test;
+
+public class ValidationResultTest extends AbstractValidatorTest {
+
+    @Test
+    public void testValidResultIsShared() {
+        SimpleBean simpleBean = new SimpleBean();
+        simpleBean.setId("value");
+
+        PropertyValidator<SimpleBean, String> propertyValidator = PropertyValidator.forMethod(SimpleBean::getId).isNotNull();
+        BeanValidator<SimpleBean> beanValidator = BeanValidator.forClass(SimpleBean.class).addPropertyValidator(propertyValidator);
+
+        assertSame(ValidationResult.VALID, propertyValidator.validate(simpleBean));
+        assertSame(ValidationResult.VALID, beanValidator.validateAll(simpleBean));
+        assertSame(ValidationResult.VALID, beanValidator.compile().validate(simpleBean));
+    }
+
+    @Test
+    public void testEmptyResult() {
+        ValidationResult result = new ValidationResult();
+
+        assertResultIsValid(result);
+        assertResultHasNoErrors(result);
+        assertTrue(result.getErrors().isEmpty());
+        assertEmptyValidationErrors(result, "id");
+    }
+
+    @Test
+    public void testNestedErrors() {
+        ValidationResult streetResult = new ValidationResult();
+        streetResult.addError("street", "is_not_null");
+
+        ValidationResult addressResult = new ValidationResult();
+        addressResult.setPropertySeparator("/");
+        addressResult.addErrors("address", streetResult);
+        addressResult.addError("city", "is_not_null");
+
+        ValidationResult result = new ValidationResult();
+        result.addErrors("customer", addressResult);
+        result.addErrors("supplier", addressResult);
+
+        assertEquals(4, result.getErrors().size());
+        assertSingleValidationError(result, "customer.address/street", "is_not_null");
+        assertSingleValidationError(result, "customer.city", "is_not_null");
+        assertSingleValidationError(result, "supplier.address/street", "is_not_null");
+        assertSingleValidationError(result, "supplier.city", "is_not_null");
+        assertSingleValidationError(addressResult, "address/street", "is_not_null");
+        assertSingleValidationError(streetResult, "street", "is_not_null");
+
+        result.addError("customer.city", "is_valid");
+        assertEquals(2, result.getErrors("customer.city").size());
+    }
+
+    @Test
+    public void testErrorsMapIsLive() {
+        ValidationResult streetResult = new ValidationResult();
+        streetResult.addError("street", "is_not_null");
+
+        ValidationResult result = new ValidationResult();
+        result.addErrors("address", streetResult);
+
+        Map<String, List<ValidationError>> errors = result.getErrors();
+        result.addError("name", "is_not_null");
+        assertSingleValidationError(result, "name", "is_not_null");
+        assertEquals(2, errors.size());
+
+        errors.remove("address.street");
+        errors.get("name").add(ValidationError.of("name", "is_not_empty"));
+        assertValidationErrors(result, "name", 2, "is_not_null", "is_not_empty");
+        assertEquals(2, result.compact().getErrors().get("name").size());
+
+        errors.clear();
+        assertResultIsValid(result);
+    }
+
+    @Test
+    public void testCompact() {
+        ValidationResult result = new ValidationResult();
+        result.addError("id", "is_not_null");
+        result.addError("name", "is_not_null");
+        result.addError("name", "is_not_empty");
+
+        ValidationResult compactResult = result.compact();
+        assertTrue(compactResult.hasErrors());
+        assertEquals(2, compactResult.getErrors().size());
+        assertSingleValidationError(compactResult, "id", "is_not_null");
+        assertValidationErrors(compactResult, "name", 2, "is_not_null", "is_not_empty");
+
+        ValidationResult mergedResult = new ValidationResult();
+        mergedResult.addErrors("bean", compactResult);
+        assertValidationErrors(mergedResult, "bean.name", 2, "is_not_null", "is_not_empty");
+
+        assertSame(ValidationResult.VALID, new ValidationResult().compact());
+    }
+
+    @Test
+    public void testMergeCompactResults() {
+        ValidationResult nameResult = new ValidationResult();
+        nameResult.addError("name", "is_not_null");
+
+        ValidationResult orderResult = new ValidationResult();
+        orderResult.addErrors("orders[0]", nameResult);
+        orderResult.addErrors("orders[1]", nameResult);
+        SymbolTable symbolTable = new SymbolTable();
+        ValidationResult compactOrderResult = orderResult.compact(symbolTable);
+        assertSame(compactOrderResult.getErrors(), compactOrderResult.getErrors());
+
+        ValidationResult mergedResult = new ValidationResult();
+        mergedResult.addErrors(compactOrderResult);
+        mergedResult.addErrors(nameResult.compact(symbolTable));
+        mergedResult.addErrors(nameResult.compact());
+        assertEquals(3, mergedResult.getErrors().size());
+        assertSingleValidationError(mergedResult, "orders[0].name", "is_not_null");
+        assertSingleValidationError(mergedResult, "orders[1].name", "is_not_null");
+        assertValidationErrors(mergedResult, "name", 2, "is_not_null");
+
+        mergedResult.addError("id", "is_not_null");
+        assertEquals(4, mergedResult.compact(symbolTable).getErrors().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCompactResultIsImmutable() {
+        ValidationResult result = new ValidationResult();
+        result.addError("id", "is_not_null");
+
+        result.compact().addError("name", "is_not_null");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testValidResultIsImmutable() {
+        ValidationResult.VALID.addError("id", "is_not_null");
+    }
+}